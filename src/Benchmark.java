@@ -0,0 +1,170 @@
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import data_structures.AddressableQueue;
+import data_structures.BucketQueue;
+import data_structures.CsrAdjacency;
+import data_structures.Graph;
+import data_structures.IndexedHeap;
+import managers.*;
+
+/**
+ * Throughput benchmarks for the task management system
+ * Run with: java Benchmark [max threads] [seconds per measurement]
+ * Each measurement runs for a fixed time after a warm-up and reports total
+ * operations per second across all threads, for 1, 2, 4, ... up to max threads.
+ * The task priority queues are then compared single-threaded at millions of tasks.
+ */
+public class Benchmark {
+    /** Tasks in the benchmark dependency graph */
+    private static final int TASKS = 20_000;
+    /** Tasks in the priority queue comparison */
+    private static final int QUEUE_TASKS = 2_000_000;
+
+    /**
+     * One benchmarked operation, called repeatedly by each thread
+     */
+    private interface Operation {
+        void run(int thread, Random random);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 1.0;
+        System.out.println("Available processors: " + Runtime.getRuntime().availableProcessors());
+
+        GraphManager graph = new GraphManager();
+        Random setup = new Random(42);
+        for (int i = 0; i < TASKS * 2; i++) {
+            int a = setup.nextInt(TASKS), b = setup.nextInt(TASKS);
+            graph.addDependency("Task " + Math.max(a, b), "Task " + Math.min(a, b));
+        }
+
+        System.out.println("\n== Dependency graph, " + TASKS + " tasks ==");
+        scale("Snapshot reads (walk 100 tasks' edges)", maxThreads, seconds, (thread, random) -> {
+            Graph.Snapshot snapshot = graph.snapshot();
+            CsrAdjacency successors = snapshot.getSuccessors();
+            for (int i = 0; i < 100; i++) {
+                int v = random.nextInt(snapshot.vertexCount());
+                for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                    if (successors.target(h) < 0) throw new IllegalStateException();
+                }
+            }
+        });
+        scale("Locked point reads (getPrerequisites)", maxThreads, seconds, (thread, random) ->
+            graph.getPrerequisites("Task " + random.nextInt(TASKS)));
+        scale("Writes (addDependency)", maxThreads, seconds, (thread, random) -> {
+            int a = random.nextInt(TASKS), b = random.nextInt(TASKS);
+            graph.addDependency("Task " + Math.max(a, b), "Task " + Math.min(a, b));
+        });
+        scale("Mixed: thread 0 writes, the others read snapshots", maxThreads, seconds, (thread, random) -> {
+            if (thread == 0) {
+                int a = random.nextInt(TASKS), b = random.nextInt(TASKS);
+                graph.addDependency("Task " + Math.max(a, b), "Task " + Math.min(a, b));
+            } else {
+                graph.snapshot().inDegree(random.nextInt(TASKS));
+            }
+        });
+
+        System.out.println("\n== Task priority queues, " + QUEUE_TASKS + " tasks, priorities "
+            + TaskManager.MIN_PRIORITY + "-" + TaskManager.MAX_PRIORITY + " ==");
+        int[] priority = new int[QUEUE_TASKS];
+        compareQueues("IndexedHeap", priority, () -> new IndexedHeap<>(id -> id, id -> priority[id]));
+        compareQueues("BucketQueue", priority, () -> new BucketQueue<>(id -> id, id -> priority[id],
+            TaskManager.MIN_PRIORITY, TaskManager.MAX_PRIORITY));
+    }
+
+    /**
+     * Times each priority queue operation over QUEUE_TASKS tasks
+     * Adds every task, changes half of the priorities, removes a tenth of the
+     * tasks by ID and polls the rest. The first round is a warm-up.
+     * @param name Label printed with the results
+     * @param priority Priority of each task ID, filled in by each round
+     * @param queues Creates an empty queue reading priorities from the array
+     */
+    private static void compareQueues(String name, int[] priority, Supplier<AddressableQueue<Integer>> queues) {
+        Integer[] ids = new Integer[QUEUE_TASKS];
+        for (int id = 0; id < QUEUE_TASKS; id++) ids[id] = id;
+        int levels = TaskManager.MAX_PRIORITY - TaskManager.MIN_PRIORITY + 1;
+        for (int round = 0; round < 2; round++) {
+            Random random = new Random(42);
+            for (int id = 0; id < QUEUE_TASKS; id++) priority[id] = TaskManager.MIN_PRIORITY + random.nextInt(levels);
+            AddressableQueue<Integer> queue = queues.get();
+
+            long start = System.nanoTime();
+            for (Integer id : ids) queue.add(id);
+            long added = System.nanoTime();
+            for (int i = 0; i < QUEUE_TASKS / 2; i++) {
+                int id = random.nextInt(QUEUE_TASKS);
+                priority[id] = TaskManager.MIN_PRIORITY + random.nextInt(levels);
+                queue.update(id);
+            }
+            long updated = System.nanoTime();
+            for (int i = 0; i < QUEUE_TASKS / 10; i++) queue.remove(random.nextInt(QUEUE_TASKS));
+            long removed = System.nanoTime();
+            int polled = 0;
+            while (queue.poll() != null) polled++;
+            long end = System.nanoTime();
+
+            if (round == 0) continue;  // Warm-up
+            System.out.printf("  %-12s add %7.1f  update %7.1f  remove %7.1f  poll %7.1f  ns/op%n", name,
+                (added - start) / (double) QUEUE_TASKS, (updated - added) / (QUEUE_TASKS / 2.0),
+                (removed - updated) / (QUEUE_TASKS / 10.0), (end - removed) / (double) polled);
+        }
+    }
+
+    /**
+     * Measures an operation with 1, 2, 4, ... threads up to a maximum
+     * @param name Label printed with the results
+     * @param maxThreads Largest thread count to measure
+     * @param seconds Measurement time per thread count
+     * @param operation Operation each thread runs in a loop
+     */
+    private static void scale(String name, int maxThreads, double seconds, Operation operation)
+            throws InterruptedException {
+        System.out.println(name + ":");
+        measure(1, seconds / 2, operation);  // Warm-up
+        for (int threads = 1; ; threads = Math.min(threads * 2, maxThreads)) {
+            long ops = measure(threads, seconds, operation);
+            System.out.printf("  %2d thread(s): %,12.0f ops/s%n", threads, ops / seconds);
+            if (threads >= maxThreads) break;
+        }
+    }
+
+    /**
+     * Runs an operation on several threads for a fixed time
+     * @param threads Number of threads
+     * @param seconds How long to run
+     * @param operation Operation each thread runs in a loop
+     * @return Total number of operations completed
+     */
+    private static long measure(int threads, double seconds, Operation operation) throws InterruptedException {
+        AtomicLong total = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        long deadline = (long) (seconds * 1e9);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(thread);
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long begin = System.nanoTime();
+                long ops = 0;
+                while (System.nanoTime() - begin < deadline) {
+                    operation.run(thread, random);
+                    ops++;
+                }
+                total.addAndGet(ops);
+            });
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) worker.join();
+        return total.get();
+    }
+}
@@ -10,8 +10,8 @@ public class ConsoleUI {
 
     public ConsoleUI() {
         scanner = new Scanner(System.in);
-        taskManager = new TaskManager();
         graphManager = new GraphManager();
+        taskManager = new TaskManager(graphManager);
         reportManager = new ReportManager(taskManager, graphManager);
     }
 
@@ -38,6 +38,7 @@ public class ConsoleUI {
                 case "15": generateDateRangeReport(); break;
                 case "16": generateDependencyReport(); break;
                 case "17": generateWorkloadReport(); break;
+                case "18": removeDependency(); break;
                 case "0": running = false; break;
                 default: System.out.println("Invalid choice. Try again.");
             }
@@ -63,6 +64,7 @@ public class ConsoleUI {
         System.out.println("15. Generate Date Range Report");
         System.out.println("16. Generate Dependency Report");
         System.out.println("17. Generate User Workload Report");
+        System.out.println("18. Remove Task Dependency");
         System.out.println("0. Exit");
         System.out.print("Choose an option: ");
     }
@@ -177,7 +179,7 @@ public class ConsoleUI {
         if (taskManager.addTaskToUser(userId, task)) {
             System.out.println("Task added.");
         } else {
-            System.out.println("User not found.");
+            System.out.println("User not found or task ID already in use.");
         }
     }
 
@@ -216,8 +218,13 @@ public class ConsoleUI {
     }
 
     private void viewPriorities() {
+        int count = readInt("Number of tasks to show (0 for all): ", 0, Integer.MAX_VALUE);
         System.out.println("Priority Queue Tasks:");
-        taskManager.printPriorityTasks();
+        if (count == 0) {
+            taskManager.printPriorityTasks();
+        } else {
+            taskManager.printPriorityTasks(count);
+        }
     }
 
     private void viewHistory() {
@@ -235,8 +242,23 @@ public class ConsoleUI {
         String task = scanner.nextLine();
         System.out.print("Enter prerequisite task name: ");
         String dependsOn = scanner.nextLine();
-        graphManager.addDependency(task, dependsOn);
-        System.out.println("Dependency added.");
+        if (graphManager.addDependency(task, dependsOn)) {
+            System.out.println("Dependency added.");
+        } else {
+            System.out.println("Dependency rejected: it would create a circular dependency.");
+        }
+    }
+
+    private void removeDependency() {
+        System.out.print("Enter dependent task name: ");
+        String task = scanner.nextLine();
+        System.out.print("Enter prerequisite task name: ");
+        String dependsOn = scanner.nextLine();
+        if (graphManager.removeDependency(task, dependsOn)) {
+            System.out.println("Dependency removed.");
+        } else {
+            System.out.println("No such dependency.");
+        }
     }
 
     private void checkCycles() {
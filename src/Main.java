@@ -1,13 +1,16 @@
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Date;
+import java.util.List;
 import managers.*;
 import tasks.*;
 import data_structures.*;
 
 public class Main {
-    public static void main(String[] args) {
-        TaskManager tm = new TaskManager();
+    public static void main(String[] args) throws InterruptedException, IOException {
         GraphManager gm = new GraphManager();
+        TaskManager tm = new TaskManager(gm);
 
         // Register users
         tm.registerUser(1, "Alice");
@@ -38,12 +41,18 @@ public class Main {
 
         // Detect cycle (should be none)
         gm.detectCircularDependencies("Test Module");
+        System.out.println("Test Module depends on Design Module: "
+            + gm.dependsOn("Test Module", "Design Module"));
+        System.out.println("Design Module -> Test Module accepted: "
+            + gm.addDependency("Design Module", "Test Module"));
+        System.out.println("Why Test Module waits: " + gm.shortestPath("Design Module", "Test Module"));
 
         // View task lists
         tm.displayUserTasks(1);
 
-        // View priority queue
+        // View priority queue; prerequisites inherit Test Module's priority 9
         tm.printPriorityTasks();
+        System.out.println("Implement Module effective priority: " + tm.getEffectivePriority(t2));
 
         // Undo most recent task (Test Module)
         tm.undoLastTask();
@@ -58,7 +67,30 @@ public class Main {
         // View task due dates using BST
         tm.printDueDateTree();
 
+        // Keep the due dates in an on-disk index as well; it survives restarts
+        File indexFile = File.createTempFile("due-dates", ".db");
+        indexFile.delete();
+        tm.openDueDateIndex(indexFile);
+        System.out.println("Task IDs due in May (from disk): "
+            + tm.getTaskIdsInDateRange(new Date(2025 - 1900, 4, 1), new Date(2025 - 1900, 4, 31)));
+        tm.closeDueDateIndex();
+        indexFile.delete();
+
         // Print dependency graph
         gm.printAdjacencyList();
+
+        // Critical path and slack against the due dates, which TaskManager keeps up to date
+        CriticalPathAnalyzer schedule = gm.getSchedule();
+        schedule.setProjectStart(new Date(2025 - 1900, 4, 1));
+        System.out.println("Critical path: " + schedule.getCriticalPath());
+        System.out.println("Design Module slack: "
+            + schedule.getSlack("Design Module") / CriticalPathAnalyzer.DEFAULT_DURATION + " days");
+
+        // Run the tasks in parallel, each after its prerequisites
+        TaskExecutor executor = new TaskExecutor(gm, 4);
+        for (TaskExecutor.Result result : executor.execute(List.of(t1, t2, t3), true)) {
+            System.out.println(result.getTask().getName() + " " + result.getStatus()
+                + " in " + result.getDurationNanos() / 1000 + " us");
+        }
     }
 }
\ No newline at end of file
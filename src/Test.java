@@ -28,8 +28,26 @@ public class Test {
                 System.out.println("BTree test skipped: " + e.getMessage());
             }
 
+            System.out.println("\n=== BPlusTree ===");
+            BPlusTree.main(null);
+
+            System.out.println("\n=== PersistentBTree ===");
+            PersistentBTree.main(null);
+
             System.out.println("\n=== Graph ===");
             Graph.main(null);
+
+            System.out.println("\n=== IntHashMap ===");
+            IntHashMap.main(null);
+
+            System.out.println("\n=== IndexedHeap ===");
+            IndexedHeap.main(null);
+
+            System.out.println("\n=== BucketQueue ===");
+            BucketQueue.main(null);
+
+            System.out.println("\n=== Histogram ===");
+            Histogram.main(null);
         } catch (Exception e) {
             System.out.println("Test suite encountered an error: " + e.getMessage());
             e.printStackTrace();
@@ -0,0 +1,92 @@
+package data_structures;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Priority queue whose elements are addressed by int ID
+ * Elements leave highest priority first, and first-in first-out among equal
+ * priorities. The queue reads priorities through a function and keeps the
+ * value it read, so an element whose priority changed is re-ordered by update.
+ * Iterating visits the elements lazily in the order they would be polled,
+ * without removing or copying them.
+ * @param <T> Type of the elements
+ */
+public interface AddressableQueue<T> extends Iterable<T> {
+    /**
+     * Adds an element
+     * @param element The element
+     * @return true if added, false if an element with the same ID is already queued
+     */
+    boolean add(T element);
+
+    /**
+     * Gets the element with the highest priority without removing it
+     * @return The element, or null if the queue is empty
+     */
+    T peek();
+
+    /**
+     * Removes the element with the highest priority
+     * @return The element, or null if the queue is empty
+     */
+    T poll();
+
+    /**
+     * Removes an element by ID
+     * @param id The element's ID
+     * @return The removed element, or null if no element has the ID
+     */
+    T remove(int id);
+
+    /**
+     * Re-reads an element's priority and moves it to its new place
+     * An element whose priority changed goes behind the elements already at the new priority
+     * @param id The element's ID
+     * @return true if the element is queued
+     */
+    boolean update(int id);
+
+    /**
+     * Checks whether an element is queued
+     * @param id The element's ID
+     * @return true if an element with the ID is queued
+     */
+    boolean contains(int id);
+
+    /**
+     * Gets the number of elements
+     * @return Number of queued elements
+     */
+    int size();
+
+    /**
+     * Checks whether the queue has no elements
+     * @return true if the queue is empty
+     */
+    boolean isEmpty();
+
+    /**
+     * Gets an iterator over the elements in the order they would be polled
+     * Each element is produced only when requested, so reading the first k
+     * elements costs about the same as k polls. The queue must not be
+     * modified while the iterator is in use.
+     * @return Ordered iterator, highest priority first
+     */
+    @Override
+    Iterator<T> iterator();
+
+    /**
+     * Gets the elements that would be polled next, without removing them
+     * @param k Maximum number of elements
+     * @return New list of at most k elements, highest priority first
+     */
+    default List<T> topK(int k) {
+        List<T> top = new ArrayList<>(Math.min(k, size()));
+        for (Iterator<T> it = iterator(); top.size() < k && it.hasNext(); ) {
+            top.add(it.next());
+        }
+        return top;
+    }
+}
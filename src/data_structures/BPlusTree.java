@@ -0,0 +1,566 @@
+package data_structures;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import tasks.Task;
+
+/**
+ * Disk-backed B+tree index of task IDs by due date
+ * Entries are (due date in epoch milliseconds, task ID) pairs kept in fixed-size
+ * pages of a single file. Internal pages only hold separator keys; all entries
+ * live in leaf pages, which are chained left to right so a range scan reads
+ * consecutive leaves without going back up the tree. The index survives
+ * restarts: reopening the file picks up the root from the header page.
+ * Removal is lazy (pages are never merged), which keeps searches correct and
+ * leaves space to be reused by later inserts into the same key range.
+ */
+public class BPlusTree implements AutoCloseable {
+    /**
+     * Receives the entries of an index
+     */
+    public interface Visitor {
+        /**
+         * Called once per entry, in (due date, task ID) order
+         * @param key Due date in epoch milliseconds
+         * @param id Task ID
+         */
+        void visit(long key, int id);
+    }
+
+    /** Size of every page in the file, in bytes */
+    public static final int PAGE_SIZE = 4096;
+    /** Identifies files written by this class */
+    private static final int MAGIC = 0x42505431;
+    /** Bytes used by the per-page header (type, count, next leaf) */
+    private static final int PAGE_HEADER = 16;
+    /** Bytes per leaf entry: long key + int task ID */
+    private static final int LEAF_ENTRY = 12;
+    /** Bytes per internal entry: long key + int task ID + int right child */
+    private static final int INTERNAL_ENTRY = 16;
+    /** Maximum number of entries in a leaf page */
+    static final int LEAF_CAPACITY = (PAGE_SIZE - PAGE_HEADER) / LEAF_ENTRY;
+    /** Maximum number of separators in an internal page */
+    static final int INTERNAL_CAPACITY = (PAGE_SIZE - PAGE_HEADER - 4) / INTERNAL_ENTRY;
+    /** Marks the end of the leaf chain */
+    private static final int NO_PAGE = -1;
+
+    /**
+     * In-memory copy of one page
+     * Arrays have one spare slot so a page can overflow before it is split
+     */
+    private static class Page {
+        int id;            // Page number within the file
+        boolean leaf;      // True for leaf pages, false for internal pages
+        int count;         // Number of entries (leaf) or separators (internal)
+        int next = NO_PAGE; // Next leaf in key order, leaves only
+        long[] keys;       // Due dates in epoch milliseconds
+        int[] ids;         // Task IDs, second component of the composite key
+        int[] children;    // Child page numbers, internal pages only (count + 1 used)
+
+        Page(int id, boolean leaf) {
+            this.id = id;
+            this.leaf = leaf;
+            int capacity = leaf ? LEAF_CAPACITY : INTERNAL_CAPACITY;
+            this.keys = new long[capacity + 1];
+            this.ids = new int[capacity + 1];
+            if (!leaf) this.children = new int[capacity + 2];
+        }
+    }
+
+    /** Separator pushed up to the parent after a page split */
+    private static class Split {
+        long key;
+        int id;
+        int right;
+
+        Split(long key, int id, int right) {
+            this.key = key;
+            this.id = id;
+            this.right = right;
+        }
+    }
+
+    private final FileChannel channel;  // Open channel to the index file
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(PAGE_SIZE);  // Reused page I/O buffer
+    private int root;       // Page number of the root page
+    private int pageCount;  // Number of pages in the file, including the header
+    private long size;      // Number of entries in the index
+
+    /**
+     * Opens an index file, creating an empty index if the file does not exist
+     * @param file Path of the index file
+     * @throws IOException If the file cannot be opened or is not an index file
+     */
+    public BPlusTree(File file) throws IOException {
+        channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0) {
+            pageCount = 2;
+            root = 1;
+            writePage(new Page(1, true));
+            writeHeader();
+        } else {
+            readHeader();
+        }
+    }
+
+    /**
+     * Inserts a task into the index using its ID and due date
+     * @param task The task to index
+     * @return true if the entry was added, false if it was already present
+     * @throws IOException If the index file cannot be accessed
+     */
+    public boolean insert(Task task) throws IOException {
+        return insert(toKey(task.getDueDate()), task.getId());
+    }
+
+    /**
+     * Removes a task from the index using its ID and due date
+     * @param task The task to remove
+     * @return true if the entry was found and removed, false otherwise
+     * @throws IOException If the index file cannot be accessed
+     */
+    public boolean remove(Task task) throws IOException {
+        return remove(toKey(task.getDueDate()), task.getId());
+    }
+
+    /**
+     * Collects the IDs of tasks due within a date range, inclusive on both ends
+     * @param from Earliest due date to include
+     * @param to Latest due date to include
+     * @return Task IDs in due-date order
+     * @throws IOException If the index file cannot be accessed
+     */
+    public List<Integer> range(Date from, Date to) throws IOException {
+        return range(from.getTime(), to.getTime());
+    }
+
+    /**
+     * Inserts a (due date, task ID) entry
+     * Time Complexity: O(log n) page reads and writes
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return true if the entry was added, false if it was already present
+     * @throws IOException If the index file cannot be accessed
+     */
+    public boolean insert(long key, int id) throws IOException {
+        long before = size;
+        Split split = insertRecursive(readPage(root), key, id);
+        if (split != null) {
+            Page newRoot = new Page(pageCount++, false);
+            newRoot.children[0] = root;
+            newRoot.keys[0] = split.key;
+            newRoot.ids[0] = split.id;
+            newRoot.children[1] = split.right;
+            newRoot.count = 1;
+            writePage(newRoot);
+            root = newRoot.id;
+        }
+        if (size == before) return false;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Recursive helper method for inserting an entry below a page
+     * @param page Current page in recursion
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return Separator for the parent if the page was split, null otherwise
+     * @throws IOException If the index file cannot be accessed
+     */
+    private Split insertRecursive(Page page, long key, int id) throws IOException {
+        if (page.leaf) {
+            int pos = lowerBound(page, key, id);
+            if (pos < page.count && page.keys[pos] == key && page.ids[pos] == id) return null;
+            shift(page, pos);
+            page.keys[pos] = key;
+            page.ids[pos] = id;
+            page.count++;
+            size++;
+            if (page.count <= LEAF_CAPACITY) {
+                writePage(page);
+                return null;
+            }
+            return splitLeaf(page);
+        }
+
+        int slot = childSlot(page, key, id);
+        Split split = insertRecursive(readPage(page.children[slot]), key, id);
+        if (split == null) return null;
+        shift(page, slot);
+        System.arraycopy(page.children, slot + 1, page.children, slot + 2, page.count - slot);
+        page.keys[slot] = split.key;
+        page.ids[slot] = split.id;
+        page.children[slot + 1] = split.right;
+        page.count++;
+        if (page.count <= INTERNAL_CAPACITY) {
+            writePage(page);
+            return null;
+        }
+        return splitInternal(page);
+    }
+
+    /**
+     * Moves the upper half of an overflowing leaf into a new leaf
+     * @param page The overflowing leaf
+     * @return Separator (first key of the new leaf) for the parent
+     * @throws IOException If the index file cannot be accessed
+     */
+    private Split splitLeaf(Page page) throws IOException {
+        Page right = new Page(pageCount++, true);
+        int half = page.count / 2;
+        right.count = page.count - half;
+        System.arraycopy(page.keys, half, right.keys, 0, right.count);
+        System.arraycopy(page.ids, half, right.ids, 0, right.count);
+        page.count = half;
+        right.next = page.next;
+        page.next = right.id;
+        writePage(right);
+        writePage(page);
+        return new Split(right.keys[0], right.ids[0], right.id);
+    }
+
+    /**
+     * Moves the upper half of an overflowing internal page into a new page
+     * The middle separator moves up to the parent
+     * @param page The overflowing internal page
+     * @return Separator for the parent
+     * @throws IOException If the index file cannot be accessed
+     */
+    private Split splitInternal(Page page) throws IOException {
+        Page right = new Page(pageCount++, false);
+        int mid = page.count / 2;
+        right.count = page.count - mid - 1;
+        System.arraycopy(page.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(page.ids, mid + 1, right.ids, 0, right.count);
+        System.arraycopy(page.children, mid + 1, right.children, 0, right.count + 1);
+        page.count = mid;
+        writePage(right);
+        writePage(page);
+        return new Split(page.keys[mid], page.ids[mid], right.id);
+    }
+
+    /**
+     * Removes a (due date, task ID) entry
+     * Time Complexity: O(log n) page reads, one page write
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return true if the entry was found and removed, false otherwise
+     * @throws IOException If the index file cannot be accessed
+     */
+    public boolean remove(long key, int id) throws IOException {
+        Page leaf = findLeaf(key, id);
+        int pos = lowerBound(leaf, key, id);
+        if (pos == leaf.count || leaf.keys[pos] != key || leaf.ids[pos] != id) return false;
+        System.arraycopy(leaf.keys, pos + 1, leaf.keys, pos, leaf.count - pos - 1);
+        System.arraycopy(leaf.ids, pos + 1, leaf.ids, pos, leaf.count - pos - 1);
+        leaf.count--;
+        size--;
+        writePage(leaf);
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * Checks whether a (due date, task ID) entry is present
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return true if the entry is in the index
+     * @throws IOException If the index file cannot be accessed
+     */
+    public boolean contains(long key, int id) throws IOException {
+        Page leaf = findLeaf(key, id);
+        int pos = lowerBound(leaf, key, id);
+        return pos < leaf.count && leaf.keys[pos] == key && leaf.ids[pos] == id;
+    }
+
+    /**
+     * Collects the IDs of tasks whose due dates fall in a key range
+     * Descends once to the first leaf, then follows the leaf chain
+     * Time Complexity: O(log n + k) page reads
+     * @param from Lower bound in epoch milliseconds, inclusive
+     * @param to Upper bound in epoch milliseconds, inclusive
+     * @return Task IDs in due-date order
+     * @throws IOException If the index file cannot be accessed
+     */
+    public List<Integer> range(long from, long to) throws IOException {
+        List<Integer> result = new ArrayList<>();
+        Page leaf = findLeaf(from, Integer.MIN_VALUE);
+        int pos = lowerBound(leaf, from, Integer.MIN_VALUE);
+        while (true) {
+            for (; pos < leaf.count; pos++) {
+                if (leaf.keys[pos] > to) return result;
+                result.add(leaf.ids[pos]);
+            }
+            if (leaf.next == NO_PAGE) return result;
+            leaf = readPage(leaf.next);
+            pos = 0;
+        }
+    }
+
+    /**
+     * Visits every entry, following the leaf chain from the leftmost leaf
+     * The index must not be modified from the visitor
+     * Time Complexity: O(log n + n) page reads
+     * @param visitor Receives each entry
+     * @throws IOException If the index file cannot be accessed
+     */
+    public void forEach(Visitor visitor) throws IOException {
+        for (Page leaf = findLeaf(Long.MIN_VALUE, Integer.MIN_VALUE); ; leaf = readPage(leaf.next)) {
+            for (int pos = 0; pos < leaf.count; pos++) {
+                visitor.visit(leaf.keys[pos], leaf.ids[pos]);
+            }
+            if (leaf.next == NO_PAGE) return;
+        }
+    }
+
+    /**
+     * Gets the number of entries in the index
+     * @return Number of (due date, task ID) entries
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Flushes pending writes to the storage device and closes the file
+     * @throws IOException If the file cannot be flushed or closed
+     */
+    @Override
+    public void close() throws IOException {
+        channel.force(true);
+        channel.close();
+    }
+
+    /**
+     * Descends from the root to the leaf that should contain an entry
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return The leaf page
+     * @throws IOException If the index file cannot be accessed
+     */
+    private Page findLeaf(long key, int id) throws IOException {
+        Page page = readPage(root);
+        while (!page.leaf) {
+            page = readPage(page.children[childSlot(page, key, id)]);
+        }
+        return page;
+    }
+
+    /**
+     * Finds the child of an internal page whose key range holds an entry
+     * @param page Internal page
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return Index into the page's children
+     */
+    private static int childSlot(Page page, long key, int id) {
+        int lo = 0, hi = page.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(page.keys[mid], page.ids[mid], key, id) <= 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Finds the first position in a page whose entry is not less than the given one
+     * @param page Page to search
+     * @param key Due date in epoch milliseconds
+     * @param id Task ID
+     * @return Insertion position within the page
+     */
+    private static int lowerBound(Page page, long key, int id) {
+        int lo = 0, hi = page.count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compare(page.keys[mid], page.ids[mid], key, id) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /**
+     * Compares two composite (due date, task ID) keys
+     * @return Negative, zero or positive as the first key sorts before, equal to or after the second
+     */
+    private static int compare(long keyA, int idA, long keyB, int idB) {
+        if (keyA != keyB) return keyA < keyB ? -1 : 1;
+        return Integer.compare(idA, idB);
+    }
+
+    /**
+     * Opens a gap at a position of a page's key arrays
+     * @param page Page to modify
+     * @param pos Position of the gap
+     */
+    private static void shift(Page page, int pos) {
+        System.arraycopy(page.keys, pos, page.keys, pos + 1, page.count - pos);
+        System.arraycopy(page.ids, pos, page.ids, pos + 1, page.count - pos);
+    }
+
+    /**
+     * Converts a due date to an index key; tasks without a due date sort last
+     * @param dueDate Due date, may be null
+     * @return Epoch milliseconds, or Long.MAX_VALUE when the date is null
+     */
+    public static long toKey(Date dueDate) {
+        return dueDate == null ? Long.MAX_VALUE : dueDate.getTime();
+    }
+
+    /**
+     * Reads and decodes a page from the file
+     * @param id Page number
+     * @return Decoded page
+     * @throws IOException If the page cannot be read
+     */
+    private Page readPage(int id) throws IOException {
+        readFully((long) id * PAGE_SIZE);
+        Page page = new Page(id, buffer.get(0) == 1);
+        page.count = buffer.getInt(4);
+        page.next = buffer.getInt(8);
+        if (page.leaf) {
+            for (int i = 0, off = PAGE_HEADER; i < page.count; i++, off += LEAF_ENTRY) {
+                page.keys[i] = buffer.getLong(off);
+                page.ids[i] = buffer.getInt(off + 8);
+            }
+        } else {
+            page.children[0] = buffer.getInt(PAGE_HEADER);
+            for (int i = 0, off = PAGE_HEADER + 4; i < page.count; i++, off += INTERNAL_ENTRY) {
+                page.keys[i] = buffer.getLong(off);
+                page.ids[i] = buffer.getInt(off + 8);
+                page.children[i + 1] = buffer.getInt(off + 12);
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Encodes a page and writes it to its slot in the file
+     * @param page Page to write
+     * @throws IOException If the page cannot be written
+     */
+    private void writePage(Page page) throws IOException {
+        buffer.clear();
+        buffer.put(0, (byte) (page.leaf ? 1 : 0));
+        buffer.putInt(4, page.count);
+        buffer.putInt(8, page.next);
+        if (page.leaf) {
+            for (int i = 0, off = PAGE_HEADER; i < page.count; i++, off += LEAF_ENTRY) {
+                buffer.putLong(off, page.keys[i]);
+                buffer.putInt(off + 8, page.ids[i]);
+            }
+        } else {
+            buffer.putInt(PAGE_HEADER, page.children[0]);
+            for (int i = 0, off = PAGE_HEADER + 4; i < page.count; i++, off += INTERNAL_ENTRY) {
+                buffer.putLong(off, page.keys[i]);
+                buffer.putInt(off + 8, page.ids[i]);
+                buffer.putInt(off + 12, page.children[i + 1]);
+            }
+        }
+        writeFully((long) page.id * PAGE_SIZE);
+    }
+
+    /**
+     * Writes the root page number, page count and entry count to page 0
+     * @throws IOException If the header cannot be written
+     */
+    private void writeHeader() throws IOException {
+        buffer.clear();
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, PAGE_SIZE);
+        buffer.putInt(8, root);
+        buffer.putInt(12, pageCount);
+        buffer.putLong(16, size);
+        writeFully(0);
+    }
+
+    /**
+     * Reads the header page of an existing index file
+     * @throws IOException If the header cannot be read or does not belong to an index file
+     */
+    private void readHeader() throws IOException {
+        try {
+            readFully(0);
+        } catch (EOFException e) {
+            channel.close();
+            throw new IOException("Not a due date index file", e);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != PAGE_SIZE) {
+            channel.close();
+            throw new IOException("Not a due date index file");
+        }
+        root = buffer.getInt(8);
+        pageCount = buffer.getInt(12);
+        size = buffer.getLong(16);
+    }
+
+    /**
+     * Fills the page buffer from the file
+     * FileChannel.read may return fewer bytes than asked for, so it is repeated
+     * until the whole page has been read
+     * @param position Byte offset of the page in the file
+     * @throws IOException If the page cannot be read or lies past the end of the file
+     */
+    private void readFully(long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read == -1) throw new EOFException("Page at offset " + position + " is past the end of the index file");
+        }
+        buffer.flip();
+    }
+
+    /**
+     * Writes the whole page buffer to the file, repeating short writes
+     * @param position Byte offset of the page in the file
+     * @throws IOException If the page cannot be written
+     */
+    private void writeFully(long position) throws IOException {
+        buffer.position(0).limit(PAGE_SIZE);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+
+    /**
+     * Main method for testing the BPlusTree implementation
+     */
+    public static void main(String[] args) throws IOException {
+        File file = File.createTempFile("due-date-index", ".db");
+        file.delete();
+        long start = new Date(2025 - 1900, 0, 1).getTime();
+        long day = 24L * 60 * 60 * 1000;
+        int count = 20_000;
+
+        try (BPlusTree index = new BPlusTree(file)) {
+            // Insert out of order so both leaf and internal pages split
+            for (int i = 0; i < count; i++) {
+                int id = (i * 7919) % count;
+                index.insert(start + (id % 365) * day, id);
+            }
+            for (int id = 0; id < count; id += 2) {
+                index.remove(start + (id % 365) * day, id);
+            }
+            System.out.println("Entries after inserts and removals: " + index.size());
+        }
+
+        try (BPlusTree reopened = new BPlusTree(file)) {
+            List<Integer> january = reopened.range(start, start + 30 * day);
+            System.out.println("Entries after reopening: " + reopened.size());
+            System.out.println("Tasks due in January: " + january.size()
+                + ", first IDs: " + january.subList(0, 5));
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -1,6 +1,19 @@
 package data_structures;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import tasks.Task;
 
 /**
  * Node class for Binary Search Tree implementation
@@ -10,85 +23,391 @@ class BSTNode {
     String task;        // Stores the task name
     Date dueDate;       // Stores the due date of the task
     BSTNode left, right;  // References to left and right child nodes
+    int height = 1;     // Height of the subtree rooted at this node (leaf = 1)
+    int size = 1;       // Number of nodes in the subtree rooted at this node
+    long due;           // Due date in epoch milliseconds, Long.MAX_VALUE when unset
+    long seq;           // Insertion sequence number, breaks ties between equal keys
+    BSTNode sameName;   // Next older node holding the same task name
+    BSTNode newerName;  // Next newer node holding the same task name
+    Task item;          // Task object stored with this entry, null when inserted by name only
 
     /**
      * Constructor for creating a new BST node
      * @param task The task name to be stored
      * @param dueDate The due date of the task
+     * @param seq Insertion sequence number of the node
      */
-    public BSTNode(String task, Date dueDate) {
+    public BSTNode(String task, Date dueDate, long seq) {
         this.task = task;
         this.dueDate = dueDate;
+        this.due = dueDate == null ? Long.MAX_VALUE : dueDate.getTime();
+        this.seq = seq;
     }
 }
 
 /**
- * Binary Search Tree implementation for managing tasks by their due dates
+ * Self-balancing (AVL) Binary Search Tree for managing tasks by their due dates
  * Tasks are organized such that left subtree contains tasks due earlier
- * and right subtree contains tasks due later
+ * and right subtree contains tasks due later. Subtree heights never differ by
+ * more than one, so insert and remove stay O(log n) even when tasks arrive
+ * already sorted by due date.
+ * Nodes are keyed by (due date, task name, insertion order), and a name index
+ * maps every task name to its nodes so lookup and removal by name never scan
+ * the tree. Nodes inserted as Task objects are also indexed by task ID, since
+ * names are not unique. Tasks without a due date sort after all dated tasks.
+ * Every node also caches its subtree size, which answers rank and selection
+ * queries (count due before a date, k-th due date) in O(log n).
+ * Traversals are iterative, take a Visitor callback, and the tree can be
+ * iterated or streamed (including in parallel) in due-date order.
  */
-public class BTree {
+public class BTree implements Iterable<String> {
     private BSTNode root;  // Root node of the binary search tree
+    private HashMap<String, BSTNode> nameIndex = new HashMap<>();  // Newest node for each task name
+    private IntHashMap<BSTNode> idIndex = new IntHashMap<>();  // Node of each task inserted with insert(Task)
+    private long nextSeq;  // Sequence number assigned to the next inserted node
+
+    /** Orders tasks by due date (unset last), then by name, matching the tree's key order */
+    static final Comparator<Task> DUE_DATE_ORDER = Comparator
+        .comparingLong((Task task) -> task.getDueDate() == null ? Long.MAX_VALUE : task.getDueDate().getTime())
+        .thenComparing(Task::getName);
 
     /**
      * Inserts a new task with its due date into the tree
+     * Time Complexity: O(log n)
      * @param task The task name to insert
      * @param dueDate The due date of the task
      */
     public void insert(String task, Date dueDate) {
-        root = insertRecursive(root, task, dueDate);
+        BSTNode node = new BSTNode(task, dueDate, nextSeq++);
+        root = insertRecursive(root, node);
+        indexName(node);
     }
 
     /**
-     * Recursive helper method for inserting a task
+     * Inserts a task object keyed by its name and due date
+     * The task itself is kept in the tree so range queries can return it,
+     * and can later be removed with remove(Task) whatever its name
+     * Time Complexity: O(log n)
+     * @param task The task to insert, at most once per task ID
+     */
+    public void insert(Task task) {
+        insert(task.getName(), task.getDueDate());
+        BSTNode node = nameIndex.get(task.getName());
+        node.item = task;
+        idIndex.put(task.getId(), node);
+    }
+
+    /**
+     * Replaces the contents of the tree with a collection of tasks
+     * Builds a perfectly balanced tree directly instead of inserting one task at
+     * a time. Already sorted input is detected in one pass; otherwise the tasks
+     * are sorted with a parallel sort first.
+     * Time Complexity: O(n) for sorted input, O(n log n) / cores otherwise
+     * @param tasks Tasks to load, in any order
+     */
+    public void bulkLoad(Collection<Task> tasks) {
+        Task[] sorted = tasks.toArray(new Task[0]);
+        for (int i = 1; i < sorted.length; i++) {
+            if (DUE_DATE_ORDER.compare(sorted[i - 1], sorted[i]) > 0) {
+                Arrays.parallelSort(sorted, DUE_DATE_ORDER);
+                break;
+            }
+        }
+        nameIndex = new HashMap<>(Math.max(16, sorted.length * 4 / 3 + 1));
+        idIndex = new IntHashMap<>();
+        BSTNode[] nodes = new BSTNode[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            BSTNode node = new BSTNode(sorted[i].getName(), sorted[i].getDueDate(), nextSeq++);
+            node.item = sorted[i];
+            indexName(node);
+            idIndex.put(sorted[i].getId(), node);
+            nodes[i] = node;
+        }
+        root = build(nodes, 0, nodes.length - 1);
+    }
+
+    /**
+     * Recursive helper method that links a sorted slice of nodes into a balanced subtree
+     * Recursion depth is O(log n)
+     * @param nodes Nodes in key order
+     * @param lo Index of the first node of the slice
+     * @param hi Index of the last node of the slice
+     * @return Root of the subtree, or null for an empty slice
+     */
+    private static BSTNode build(BSTNode[] nodes, int lo, int hi) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        BSTNode node = nodes[mid];
+        node.left = build(nodes, lo, mid - 1);
+        node.right = build(nodes, mid + 1, hi);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Recursive helper method for inserting a node
      * @param node Current node in recursion
-     * @param task Task to be inserted
-     * @param dueDate Due date of the task
+     * @param added Node to be inserted
      * @return Updated node after insertion
      */
-    private BSTNode insertRecursive(BSTNode node, String task, Date dueDate) {
-        if (node == null) return new BSTNode(task, dueDate);
-        if (dueDate.before(node.dueDate)) node.left = insertRecursive(node.left, task, dueDate);
-        else node.right = insertRecursive(node.right, task, dueDate);
+    private BSTNode insertRecursive(BSTNode node, BSTNode added) {
+        if (node == null) return added;
+        if (compare(added, node) < 0) node.left = insertRecursive(node.left, added);
+        else node.right = insertRecursive(node.right, added);
+        return rebalance(node);
+    }
+
+    /**
+     * Compares two nodes by due date, then task name, then insertion order
+     * @param a First node
+     * @param b Second node
+     * @return Negative, zero or positive as a sorts before, equal to or after b
+     */
+    private static int compare(BSTNode a, BSTNode b) {
+        if (a.due != b.due) return a.due < b.due ? -1 : 1;
+        int byName = a.task.compareTo(b.task);
+        if (byName != 0) return byName;
+        return Long.compare(a.seq, b.seq);
+    }
+
+    /**
+     * Gets the height of a subtree
+     * @param node Root of the subtree, may be null
+     * @return Height of the subtree, 0 for an empty subtree
+     */
+    private static int height(BSTNode node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Gets the number of nodes in a subtree
+     * @param node Root of the subtree, may be null
+     * @return Number of nodes, 0 for an empty subtree
+     */
+    private static int size(BSTNode node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Recomputes the cached height and size of a node from its children
+     * @param node Node whose aggregates should be refreshed
+     */
+    private static void update(BSTNode node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    /**
+     * Rotates a subtree to the right
+     * @param node Root of the subtree
+     * @return New root of the subtree
+     */
+    private static BSTNode rotateRight(BSTNode node) {
+        BSTNode pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Rotates a subtree to the left
+     * @param node Root of the subtree
+     * @return New root of the subtree
+     */
+    private static BSTNode rotateLeft(BSTNode node) {
+        BSTNode pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    /**
+     * Restores the AVL balance property at a node after one of its subtrees changed
+     * Time Complexity: O(1)
+     * @param node Root of the subtree to rebalance
+     * @return New root of the balanced subtree
+     */
+    private static BSTNode rebalance(BSTNode node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
         return node;
     }
 
     /**
-     * Performs an in-order traversal of the tree
-     * Visits tasks in ascending order of due dates
+     * Gets the height of the tree
+     * Time Complexity: O(1)
+     * @return Height of the tree, 0 if the tree is empty
      */
-    public void inOrderTraversal() {
-        inOrder(root);
+    public int getHeight() {
+        return height(root);
     }
 
     /**
-     * Recursive helper method for in-order traversal
-     * @param node Current node in recursion
+     * Gets the number of tasks in the tree
+     * Time Complexity: O(1)
+     * @return Number of tasks
      */
-    private void inOrder(BSTNode node) {
-        if (node == null) return;
-        inOrder(node.left);
-        System.out.println(node.task + " due on " + node.dueDate);
-        inOrder(node.right);
+    public int size() {
+        return size(root);
     }
 
     /**
-     * Performs a pre-order traversal of the tree
-     * Visits root before left and right subtrees
+     * Counts the tasks due strictly before a date
+     * Time Complexity: O(log n)
+     * @param date The cutoff date, or null to count every task that has a due date
+     * @return Number of tasks with an earlier due date
      */
-    public void preOrderTraversal() {
-        preOrder(root);
+    public int countBefore(Date date) {
+        long cutoff = date == null ? Long.MAX_VALUE : date.getTime();
+        int count = 0;
+        BSTNode node = root;
+        while (node != null) {
+            if (node.due < cutoff) {
+                count += size(node.left) + 1;
+                node = node.right;
+            } else {
+                node = node.left;
+            }
+        }
+        return count;
     }
 
     /**
-     * Recursive helper method for pre-order traversal
+     * Gets the position of a task in due-date order
+     * When several tasks share the name, the most recently inserted one is ranked
+     * Time Complexity: O(log n)
+     * @param task The task name
+     * @return Zero-based position of the task, or -1 if not found
+     */
+    public int rank(String task) {
+        BSTNode target = nameIndex.get(task);
+        if (target == null) return -1;
+        int rank = 0;
+        BSTNode node = root;
+        while (node != target) {
+            if (compare(target, node) < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank + size(target.left);
+    }
+
+    /**
+     * Gets the task at a position in due-date order
+     * Time Complexity: O(log n)
+     * @param k Zero-based position
+     * @return The task name, or null if k is out of range
+     */
+    public String select(int k) {
+        BSTNode node = selectNode(k);
+        return node == null ? null : node.task;
+    }
+
+    /**
+     * Gets the due date at a position in due-date order
+     * Time Complexity: O(log n)
+     * @param k Zero-based position
+     * @return The due date, or null if k is out of range or that task has no due date
+     */
+    public Date selectDueDate(int k) {
+        BSTNode node = selectNode(k);
+        return node == null ? null : node.dueDate;
+    }
+
+    /**
+     * Helper method to find the node at a position in due-date order
+     * @param k Zero-based position
+     * @return The node at position k, or null if k is out of range
+     */
+    private BSTNode selectNode(int k) {
+        if (k < 0 || k >= size(root)) return null;
+        BSTNode node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return node;
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Collects the tasks due within a date range, inclusive on both ends
+     * Only subtrees that can overlap the range are visited
+     * Time Complexity: O(log n + k) where k is the number of entries in range
+     * @param from Earliest due date to include
+     * @param to Latest due date to include
+     * @return Tasks inserted with insert(Task) that fall in the range, in due-date order
+     */
+    public List<Task> range(Date from, Date to) {
+        List<Task> result = new ArrayList<>();
+        rangeRecursive(root, from.getTime(), to.getTime(), result);
+        return result;
+    }
+
+    /**
+     * Recursive helper method for range collection
+     * Equal due dates may sit on either side of a node, so both bounds are inclusive
      * @param node Current node in recursion
+     * @param from Lower bound in epoch milliseconds
+     * @param to Upper bound in epoch milliseconds
+     * @param result List receiving the tasks in range
      */
-    private void preOrder(BSTNode node) {
+    private void rangeRecursive(BSTNode node, long from, long to, List<Task> result) {
         if (node == null) return;
-        System.out.println(node.task + " due on " + node.dueDate);
-        preOrder(node.left);
-        preOrder(node.right);
+        if (node.due >= from) rangeRecursive(node.left, from, to, result);
+        if (node.due >= from && node.due <= to && node.dueDate != null && node.item != null) {
+            result.add(node.item);
+        }
+        if (node.due <= to) rangeRecursive(node.right, from, to, result);
+    }
+
+    /**
+     * Callback used by the traversal methods
+     * Receives the fields stored in each node without building any Strings
+     */
+    public interface Visitor {
+        /**
+         * Called once per task in traversal order
+         * @param task The task name
+         * @param dueDate The due date in epoch milliseconds, Long.MAX_VALUE when unset
+         */
+        void visit(String task, long dueDate);
+    }
+
+    /**
+     * Performs an in-order traversal of the tree
+     * Visits tasks in ascending order of due dates
+     */
+    public void inOrderTraversal() {
+        forEachInOrder(BTree::print);
+    }
+
+    /**
+     * Performs a pre-order traversal of the tree
+     * Visits root before left and right subtrees
+     */
+    public void preOrderTraversal() {
+        forEachPreOrder(BTree::print);
     }
 
     /**
@@ -96,92 +415,290 @@ public class BTree {
      * Visits left and right subtrees before root
      */
     public void postOrderTraversal() {
-        postOrder(root);
+        forEachPostOrder(BTree::print);
     }
 
     /**
-     * Recursive helper method for post-order traversal
-     * @param node Current node in recursion
+     * Prints one task in the format used by the traversal methods
+     * @param task The task name
+     * @param dueDate The due date in epoch milliseconds, Long.MAX_VALUE when unset
      */
-    private void postOrder(BSTNode node) {
-        if (node == null) return;
-        postOrder(node.left);
-        postOrder(node.right);
-        System.out.println(node.task + " due on " + node.dueDate);
+    private static void print(String task, long dueDate) {
+        System.out.println(task + " due on " + (dueDate == Long.MAX_VALUE ? null : new Date(dueDate)));
+    }
+
+    /**
+     * Visits every task in ascending order of due dates
+     * Iterative with an explicit stack bounded by the tree height
+     * Time Complexity: O(n)
+     * @param visitor Callback receiving each task
+     */
+    public void forEachInOrder(Visitor visitor) {
+        BSTNode[] stack = new BSTNode[height(root)];
+        int top = 0;
+        BSTNode node = root;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack[top++] = node;
+                node = node.left;
+            }
+            node = stack[--top];
+            visitor.visit(node.task, node.due);
+            node = node.right;
+        }
+    }
+
+    /**
+     * Visits every task, each node before its left and right subtrees
+     * Iterative with an explicit stack bounded by the tree height
+     * Time Complexity: O(n)
+     * @param visitor Callback receiving each task
+     */
+    public void forEachPreOrder(Visitor visitor) {
+        if (root == null) return;
+        BSTNode[] stack = new BSTNode[height(root) + 1];
+        int top = 0;
+        stack[top++] = root;
+        while (top > 0) {
+            BSTNode node = stack[--top];
+            visitor.visit(node.task, node.due);
+            if (node.right != null) stack[top++] = node.right;
+            if (node.left != null) stack[top++] = node.left;
+        }
+    }
+
+    /**
+     * Visits every task, each node after its left and right subtrees
+     * Iterative with an explicit stack bounded by the tree height
+     * Time Complexity: O(n)
+     * @param visitor Callback receiving each task
+     */
+    public void forEachPostOrder(Visitor visitor) {
+        BSTNode[] stack = new BSTNode[height(root)];
+        int top = 0;
+        BSTNode node = root;
+        BSTNode lastVisited = null;
+        while (node != null || top > 0) {
+            while (node != null) {
+                stack[top++] = node;
+                node = node.left;
+            }
+            BSTNode peek = stack[top - 1];
+            if (peek.right != null && peek.right != lastVisited) {
+                node = peek.right;
+            } else {
+                visitor.visit(peek.task, peek.due);
+                lastVisited = stack[--top];
+            }
+        }
+    }
+
+    /**
+     * Gets an iterator over task names in ascending order of due dates
+     * The tree must not be modified while the iterator is in use
+     * @return In-order iterator
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new Cursor(0, size(root));
+    }
+
+    /**
+     * Gets a spliterator over task names in ascending order of due dates
+     * Splits by position using the subtree sizes, so parallel streams divide
+     * the tree evenly. The tree must not be modified while it is in use.
+     * @return Sized, ordered spliterator
+     */
+    @Override
+    public Spliterator<String> spliterator() {
+        return new Cursor(0, size(root));
+    }
+
+    /**
+     * Gets a stream of task names in ascending order of due dates
+     * @param parallel Whether the stream should be parallel
+     * @return Stream over the task names
+     */
+    public Stream<String> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    /**
+     * In-order cursor over the positions [from, to) of the tree
+     * Serves as both Iterator and Spliterator. The explicit stack is created
+     * on first use by seeking to the start position in O(log n).
+     */
+    private class Cursor implements Iterator<String>, Spliterator<String> {
+        private int from;         // Position of the next task to return
+        private final int to;     // Position one past the last task to return
+        private BSTNode[] stack;  // Ancestors whose in-order successors are still pending
+        private int top;          // Number of nodes on the stack
+
+        Cursor(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * Fills the stack with the path to the node at position from
+         */
+        private void seek() {
+            stack = new BSTNode[height(root)];
+            int k = from;
+            BSTNode node = root;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (k < leftSize) {
+                    stack[top++] = node;
+                    node = node.left;
+                } else if (k == leftSize) {
+                    stack[top++] = node;
+                    return;
+                } else {
+                    k -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return from < to;
+        }
+
+        @Override
+        public String next() {
+            if (from >= to) throw new NoSuchElementException();
+            if (stack == null) seek();
+            BSTNode node = stack[--top];
+            for (BSTNode child = node.right; child != null; child = child.left) {
+                stack[top++] = child;
+            }
+            from++;
+            return node.task;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super String> action) {
+            if (from >= to) return false;
+            action.accept(next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super String> action) {
+            while (from < to) action.accept(next());
+        }
+
+        @Override
+        public Spliterator<String> trySplit() {
+            if (stack != null || to - from < 2) return null;
+            int mid = (from + to) >>> 1;
+            Cursor prefix = new Cursor(from, mid);
+            from = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return to - from;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
     }
 
     /**
      * Searches for a task in the tree
+     * Time Complexity: O(1) expected, through the name index
      * @param task The task name to search for
      * @return true if task is found, false otherwise
      */
     public boolean search(String task) {
-        return searchRecursive(root, task) != null;
+        return nameIndex.containsKey(task);
     }
 
     /**
-     * Recursive helper method for searching a task
-     * @param node Current node in recursion
-     * @param task Task name to search for
-     * @return The node containing the task if found, null otherwise
+     * Removes a task from the tree
+     * When several tasks share the name, the most recently inserted one is removed
+     * Time Complexity: O(log n)
+     * @param task The task name to remove
+     * @return true if task was successfully removed, false if not found
      */
-    private BSTNode searchRecursive(BSTNode node, String task) {
-        if (node == null) return null;
-        if (node.task.equals(task)) return node;
-        BSTNode found = searchRecursive(node.left, task);
-        if (found == null) found = searchRecursive(node.right, task);
-        return found;
+    public boolean remove(String task) {
+        BSTNode target = nameIndex.get(task);
+        if (target == null) return false;
+        removeNode(target);
+        return true;
     }
 
     /**
-     * Removes a task from the tree
-     * @param task The task name to remove
+     * Removes a task inserted with insert(Task)
+     * Finds the task's own node by ID, so tasks sharing its name are untouched,
+     * and the node's stored key is used even if the task was edited since
+     * Time Complexity: O(log n)
+     * @param task The task to remove
      * @return true if task was successfully removed, false if not found
      */
-    public boolean remove(String task) {
-        if (!search(task)) return false;
-        root = removeRecursive(root, task);
+    public boolean remove(Task task) {
+        BSTNode target = idIndex.get(task.getId());
+        if (target == null) return false;
+        removeNode(target);
         return true;
     }
 
     /**
-     * Recursive helper method for removing a task
+     * Records a node as the newest one with its name
+     * @param node The node
+     */
+    private void indexName(BSTNode node) {
+        node.sameName = nameIndex.put(node.task, node);
+        if (node.sameName != null) node.sameName.newerName = node;
+    }
+
+    /**
+     * Unlinks a node from the indexes and the tree
+     * @param target The node
+     */
+    private void removeNode(BSTNode target) {
+        if (target.newerName != null) target.newerName.sameName = target.sameName;
+        else if (target.sameName == null) nameIndex.remove(target.task);
+        else nameIndex.put(target.task, target.sameName);
+        if (target.sameName != null) target.sameName.newerName = target.newerName;
+        target.sameName = target.newerName = null;
+        if (target.item != null && idIndex.get(target.item.getId()) == target) idIndex.remove(target.item.getId());
+        root = removeRecursive(root, target);
+    }
+
+    /**
+     * Recursive helper method for removing a node
+     * Descends by the node's composite key, so only one root-to-leaf path is visited
      * @param node Current node in recursion
-     * @param task Task name to remove
+     * @param target Node to remove
      * @return Updated node after removal
      */
-    private BSTNode removeRecursive(BSTNode node, String task) {
+    private BSTNode removeRecursive(BSTNode node, BSTNode target) {
         if (node == null) return null;
 
         // Search for the node to remove
-        if (!node.task.equals(task)) {
-            BSTNode newLeft = removeRecursive(node.left, task);
-            if (newLeft != node.left) {
-                node.left = newLeft;
-                return node;
-            }
-            node.right = removeRecursive(node.right, task);
-            return node;
-        }
-
-        // Case 1: Node to delete has no children
-        if (node.left == null && node.right == null) {
-            return null;
+        if (node != target) {
+            if (compare(target, node) < 0) node.left = removeRecursive(node.left, target);
+            else node.right = removeRecursive(node.right, target);
+            return rebalance(node);
         }
 
-        // Case 2: Node to delete has only one child
+        // Case 1 and 2: Node to delete has at most one child
         if (node.left == null) return node.right;
         if (node.right == null) return node.left;
 
         // Case 3: Node to delete has two children
-        // Find the minimum value in the right subtree (successor)
+        // Detach the minimum node of the right subtree (successor) and put it in this node's place
         BSTNode successor = findMin(node.right);
-        // Copy successor's data to this node
-        node.task = successor.task;
-        node.dueDate = successor.dueDate;
-        // Remove the successor
-        node.right = removeRecursive(node.right, successor.task);
-        return node;
+        successor.right = removeMin(node.right);
+        successor.left = node.left;
+        return rebalance(successor);
     }
 
     /**
@@ -196,6 +713,17 @@ public class BTree {
         return node;
     }
 
+    /**
+     * Unlinks the minimum value node from a subtree, rebalancing on the way up
+     * @param node Root of the subtree
+     * @return New root of the subtree without its minimum node
+     */
+    private BSTNode removeMin(BSTNode node) {
+        if (node.left == null) return node.right;
+        node.left = removeMin(node.left);
+        return rebalance(node);
+    }
+
     /**
      * Main method for testing the BTree implementation
      */
@@ -210,6 +738,68 @@ public class BTree {
         tree.preOrderTraversal();
         System.out.println("Post-Order:");
         tree.postOrderTraversal();
+
+        Task may = new Task(1, "Task M", 1);
+        may.setDueDate(new Date(2025 - 1900, 4, 15));
+        Task june = new Task(2, "Task J", 1);
+        june.setDueDate(new Date(2025 - 1900, 5, 15));
+        tree.insert(may);
+        tree.insert(june);
+        System.out.println("Range May 10 - June 1:");
+        for (Task task : tree.range(new Date(2025 - 1900, 4, 10), new Date(2025 - 1900, 5, 1))) {
+            System.out.println(task.getName() + " due on " + task.getDueDate());
+        }
+
+        // Tasks sharing a name are removed by their own node
+        Task reportA = new Task(3, "Report", 1);
+        reportA.setDueDate(new Date(2025 - 1900, 2, 1));
+        Task reportB = new Task(4, "Report", 1);
+        reportB.setDueDate(new Date(2025 - 1900, 2, 5));
+        tree.insert(reportA);
+        tree.insert(reportB);
+        tree.remove(reportA);
+        System.out.println("Reports in March after removing ID 3: "
+            + tree.range(new Date(2025 - 1900, 2, 1), new Date(2025 - 1900, 2, 31)).size()
+            + ", remaining ID: " + tree.range(new Date(2025 - 1900, 2, 1), new Date(2025 - 1900, 2, 31)).get(0).getId());
+
+        // Tasks usually arrive in due-date order; the tree must stay shallow
+        BTree sorted = new BTree();
+        int count = 1_000_000;
+        long start = new Date(2025 - 1900, 0, 1).getTime();
+        for (int i = 0; i < count; i++) {
+            sorted.insert("Task " + i, new Date(start + i * 60_000L));
+        }
+        int maxHeight = (int) Math.ceil(1.45 * Math.log(count + 2) / Math.log(2));
+        System.out.println("Height after " + count + " sorted inserts: " + sorted.getHeight()
+            + (sorted.getHeight() <= maxHeight ? " (balanced)" : " (UNBALANCED)"));
+
+        // Cold start: load the same number of unsorted tasks in one pass
+        List<Task> backlog = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task(i, "Task " + i, 1);
+            task.setDueDate(new Date(start + ((i * 7919L) % count) * 60_000L));
+            backlog.add(task);
+        }
+        BTree loaded = new BTree();
+        loaded.bulkLoad(backlog);
+        System.out.println("Bulk loaded " + loaded.size() + " tasks, height " + loaded.getHeight()
+            + ", first due: " + loaded.select(0));
+
+        // Removal by name goes through the name index instead of scanning the tree
+        for (int i = 0; i < count; i += 2) {
+            sorted.remove("Task " + i);
+        }
+        System.out.println("After removing every other task: Task 2 found = " + sorted.search("Task 2")
+            + ", Task 3 found = " + sorted.search("Task 3") + ", height = " + sorted.getHeight());
+        System.out.println("Rank of Task 3: " + sorted.rank("Task 3") + ", median task: "
+            + sorted.select(sorted.size() / 2) + ", due before Task 11: "
+            + sorted.countBefore(new Date(start + 11 * 60_000L)));
+
+        // Traversals and streams run without recursion or per-node Strings
+        long[] latest = {Long.MIN_VALUE};
+        sorted.forEachInOrder((task, dueDate) -> latest[0] = Math.max(latest[0], dueDate));
+        System.out.println("Latest due date: " + new Date(latest[0]) + ", tasks ending in 7 (parallel): "
+            + sorted.stream(true).filter(task -> task.endsWith("7")).count());
     }
 
 }
\ No newline at end of file
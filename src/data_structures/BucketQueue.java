@@ -0,0 +1,293 @@
+package data_structures;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bucket priority queue for a small fixed range of int priorities
+ * Keeps one first-in first-out list per priority level and a bitmap of the
+ * levels that are not empty. Adding, removing by ID and re-ordering are O(1)
+ * list splices, and the highest non-empty level is found with one bit scan,
+ * so every operation is O(1) whatever the number of elements.
+ * At most 64 levels are supported.
+ * @param <T> Type of the elements
+ */
+public class BucketQueue<T> implements AddressableQueue<T> {
+    /**
+     * Element of a level's doubly linked list
+     */
+    private static final class Entry<T> {
+        final T element;
+        int level;
+        Entry<T> prev;
+        Entry<T> next;
+
+        Entry(T element) {
+            this.element = element;
+        }
+    }
+
+    /** Gives an element's unique ID */
+    private final ToIntFunction<? super T> idOf;
+    /** Gives an element's current priority, higher leaves first */
+    private final ToIntFunction<? super T> priorityOf;
+    /** Lowest supported priority, stored in level 0 */
+    private final int minPriority;
+    /** Oldest entry of each level */
+    private final Entry<T>[] heads;
+    /** Newest entry of each level */
+    private final Entry<T>[] tails;
+    /** Bit i is set when level i has entries */
+    private long nonEmpty;
+    /** Entry of each element by ID */
+    private final IntHashMap<Entry<T>> entries = new IntHashMap<>();
+    /** Number of elements */
+    private int size;
+
+    /**
+     * Constructs an empty queue for priorities in a range
+     * @param idOf Gives an element's unique ID
+     * @param priorityOf Gives an element's current priority, higher leaves first
+     * @param minPriority Lowest priority an element may have
+     * @param maxPriority Highest priority an element may have, at most minPriority + 63
+     */
+    @SuppressWarnings("unchecked")
+    public BucketQueue(ToIntFunction<? super T> idOf, ToIntFunction<? super T> priorityOf,
+                       int minPriority, int maxPriority) {
+        if (maxPriority < minPriority || maxPriority - minPriority >= 64) {
+            throw new IllegalArgumentException("BucketQueue supports 1 to 64 priority levels");
+        }
+        this.idOf = idOf;
+        this.priorityOf = priorityOf;
+        this.minPriority = minPriority;
+        this.heads = (Entry<T>[]) new Entry<?>[maxPriority - minPriority + 1];
+        this.tails = (Entry<T>[]) new Entry<?>[maxPriority - minPriority + 1];
+    }
+
+    /**
+     * Adds an element behind the others with its priority
+     * Time Complexity: O(1)
+     * @param element The element
+     * @return true if added, false if an element with the same ID is already queued
+     * @throws IllegalArgumentException if the element's priority is out of range
+     */
+    @Override
+    public boolean add(T element) {
+        int id = idOf.applyAsInt(element);
+        if (entries.containsKey(id)) return false;
+        Entry<T> entry = new Entry<>(element);
+        link(entry, levelOf(element));
+        entries.put(id, entry);
+        size++;
+        return true;
+    }
+
+    /**
+     * Gets the element with the highest priority without removing it
+     * Time Complexity: O(1)
+     * @return The element, or null if the queue is empty
+     */
+    @Override
+    public T peek() {
+        return nonEmpty == 0 ? null : heads[highestLevel()].element;
+    }
+
+    /**
+     * Removes the element with the highest priority
+     * Time Complexity: O(1)
+     * @return The element, or null if the queue is empty
+     */
+    @Override
+    public T poll() {
+        if (nonEmpty == 0) return null;
+        T top = heads[highestLevel()].element;
+        remove(idOf.applyAsInt(top));
+        return top;
+    }
+
+    /**
+     * Removes an element by ID
+     * Time Complexity: O(1)
+     * @param id The element's ID
+     * @return The removed element, or null if no element has the ID
+     */
+    @Override
+    public T remove(int id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) return null;
+        unlink(entry);
+        size--;
+        return entry.element;
+    }
+
+    /**
+     * Re-reads an element's priority and moves it to the back of its new level
+     * Time Complexity: O(1)
+     * @param id The element's ID
+     * @return true if the element is queued
+     * @throws IllegalArgumentException if the element's new priority is out of range
+     */
+    @Override
+    public boolean update(int id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) return false;
+        int level = levelOf(entry.element);
+        if (level == entry.level) return true;
+        unlink(entry);
+        link(entry, level);
+        return true;
+    }
+
+    /**
+     * Checks whether an element is queued
+     * Time Complexity: O(1)
+     * @param id The element's ID
+     * @return true if an element with the ID is queued
+     */
+    @Override
+    public boolean contains(int id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Gets the number of elements
+     * @return Number of queued elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the queue has no elements
+     * @return true if the queue is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets an iterator over the elements in the order they would be polled
+     * Walks each non-empty level's list from the highest level down.
+     * The queue must not be modified while the iterator is in use
+     * Time Complexity: O(1) per element
+     * @return Ordered iterator, highest priority first
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private long levels = nonEmpty;  // Levels not yet started
+            private Entry<T> next = advance(null);
+
+            /**
+             * Gets the entry after a given one, moving down to the next non-empty level if needed
+             */
+            private Entry<T> advance(Entry<T> entry) {
+                if (entry != null && entry.next != null) return entry.next;
+                if (levels == 0) return null;
+                int level = 63 - Long.numberOfLeadingZeros(levels);
+                levels &= ~(1L << level);
+                return heads[level];
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public T next() {
+                if (next == null) throw new NoSuchElementException();
+                Entry<T> current = next;
+                next = advance(current);
+                return current.element;
+            }
+        };
+    }
+
+    /**
+     * Gets the level an element belongs in
+     * @param element The element
+     * @return Level index
+     */
+    private int levelOf(T element) {
+        int priority = priorityOf.applyAsInt(element);
+        int level = priority - minPriority;
+        if (level < 0 || level >= heads.length) {
+            throw new IllegalArgumentException("Priority " + priority + " is outside the range of this BucketQueue");
+        }
+        return level;
+    }
+
+    /**
+     * Gets the highest level that has entries
+     * @return Level index; the queue must not be empty
+     */
+    private int highestLevel() {
+        return 63 - Long.numberOfLeadingZeros(nonEmpty);
+    }
+
+    /**
+     * Appends an entry to the back of a level
+     */
+    private void link(Entry<T> entry, int level) {
+        entry.level = level;
+        entry.next = null;
+        entry.prev = tails[level];
+        if (tails[level] == null) {
+            heads[level] = entry;
+            nonEmpty |= 1L << level;
+        } else {
+            tails[level].next = entry;
+        }
+        tails[level] = entry;
+    }
+
+    /**
+     * Takes an entry out of its level
+     */
+    private void unlink(Entry<T> entry) {
+        int level = entry.level;
+        if (entry.prev == null) heads[level] = entry.next;
+        else entry.prev.next = entry.next;
+        if (entry.next == null) tails[level] = entry.prev;
+        else entry.next.prev = entry.prev;
+        if (heads[level] == null) nonEmpty &= ~(1L << level);
+        entry.prev = entry.next = null;
+    }
+
+    /**
+     * Main method for testing the BucketQueue implementation
+     */
+    public static void main(String[] args) {
+        int[] priorities = {5, 3, 8, 1, 8, 6};
+        BucketQueue<Integer> queue = new BucketQueue<>(id -> id, id -> priorities[id], 1, 10);
+        for (int id = 0; id < priorities.length; id++) {
+            queue.add(id);
+        }
+        System.out.println("Highest priority ID: " + queue.peek());
+
+        priorities[3] = 10;  // ID 3 becomes the most urgent
+        queue.update(3);
+        priorities[2] = 2;  // ID 2 drops below the rest
+        queue.update(2);
+        queue.remove(0);
+        System.out.println("Size after removing ID 0: " + queue.size());
+        System.out.println("Top 3 IDs: " + queue.topK(3));
+
+        StringBuilder polled = new StringBuilder();
+        while (!queue.isEmpty()) {
+            polled.append(queue.poll()).append(' ');
+        }
+        System.out.println("Polled IDs: " + polled.toString().trim());
+
+        priorities[0] = 11;
+        try {
+            queue.add(0);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rejected: " + e.getMessage());
+        }
+    }
+}
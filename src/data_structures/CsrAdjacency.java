@@ -0,0 +1,423 @@
+package data_structures;
+
+import java.util.Arrays;
+
+/**
+ * One direction of a graph's adjacency in compressed sparse row (CSR) form
+ * Edges of vertex v occupy targets[offsets[v] .. offsets[v + 1]) in a single
+ * int array, so traversals read primitive memory with no boxing or hashing.
+ * New edges go to a small per-vertex delta buffer and are merged into the
+ * compacted arrays once the buffer grows past a fraction of the graph size,
+ * which keeps adding an edge amortized O(1).
+ * Every edge is also kept in a hash index from (source, target) to its slot,
+ * so duplicate edges are rejected and an edge is removed in O(1) by turning
+ * its slot into a tombstone. Traversals skip tombstones, and the next merge
+ * (triggered early once tombstones pile up) drops them, so traversal cost
+ * stays proportional to the live edges.
+ *
+ * Edges are walked through int handles:
+ * <pre>
+ * for (int h = adj.first(v); h != CsrAdjacency.END; h = adj.next(v, h)) {
+ *     int w = adj.target(h);
+ * }
+ * </pre>
+ * Handles are only valid until the next modification of the adjacency.
+ * The class is not thread-safe; frozenCopy() gives an immutable copy that
+ * any number of threads can read.
+ */
+public class CsrAdjacency {
+    /** Handle returned when a vertex has no further edges */
+    public static final int END = -1;
+    /** Delta buffer entries always allowed before a merge is triggered */
+    private static final int MIN_DELTA = 64;
+    /** Target stored in the slot of a removed edge */
+    private static final int TOMBSTONE = -1;
+    /** Marks an unused slot of the edge index */
+    private static final long FREE = -1L;
+
+    /** Start of each compacted vertex's edges in targets; length csrVertices + 1 */
+    private int[] offsets = new int[1];
+    /** Compacted edge targets, grouped by source vertex */
+    private int[] targets = new int[0];
+    /** Number of vertices covered by offsets */
+    private int csrVertices;
+
+    /** First delta entry of each vertex, -1 when none */
+    private int[] deltaHead = new int[0];
+    /** Last delta entry of each vertex, so appends keep insertion order */
+    private int[] deltaTail = new int[0];
+    /** Next delta entry of the same vertex, -1 at the end of the chain */
+    private int[] deltaNext = new int[MIN_DELTA];
+    /** Target vertex of each delta entry */
+    private int[] deltaTarget = new int[MIN_DELTA];
+    /** Number of entries in the delta buffer */
+    private int deltaSize;
+
+    /** Number of edges leaving each vertex */
+    private int[] degree = new int[0];
+    /** Number of vertices known to this adjacency */
+    private int vertexCount;
+    /** Total number of edges */
+    private int edgeCount;
+    /** Number of removed edges whose slots have not been merged away yet */
+    private int tombstones;
+
+    /** Edge index keys, (source << 32 | target), FREE when unused; open addressing with linear probing */
+    private long[] indexKeys = newIndex(16);
+    /** Handle of each indexed edge, parallel to indexKeys */
+    private int[] indexHandles = new int[16];
+    /** Number of edges in the index */
+    private int indexSize;
+    /** Whether this is an immutable copy that rejects modification */
+    private boolean frozen;
+
+    /**
+     * Makes sure a vertex ID can be used as an edge endpoint
+     * Time Complexity: O(1) amortized
+     * @param v Vertex ID
+     */
+    public void ensureVertex(int v) {
+        checkModifiable();
+        if (v < vertexCount) return;
+        if (v >= degree.length) {
+            int capacity = Math.max(16, Math.max(v + 1, degree.length * 2));
+            degree = Arrays.copyOf(degree, capacity);
+            deltaHead = Arrays.copyOf(deltaHead, capacity);
+            deltaTail = Arrays.copyOf(deltaTail, capacity);
+            Arrays.fill(deltaHead, vertexCount, capacity, -1);
+            Arrays.fill(deltaTail, vertexCount, capacity, -1);
+        }
+        vertexCount = v + 1;
+    }
+
+    /**
+     * Adds an edge to the delta buffer, merging the buffer when it gets large
+     * Time Complexity: O(1) amortized
+     * @param from Source vertex ID
+     * @param to Target vertex ID
+     * @return true if the edge was added, false if it already exists
+     */
+    public boolean add(int from, int to) {
+        checkModifiable();
+        if (indexOf(from, to) != -1) return false;
+        ensureVertex(Math.max(from, to));
+        if (deltaSize == deltaTarget.length) {
+            deltaTarget = Arrays.copyOf(deltaTarget, deltaSize * 2);
+            deltaNext = Arrays.copyOf(deltaNext, deltaSize * 2);
+        }
+        int entry = deltaSize++;
+        deltaTarget[entry] = to;
+        deltaNext[entry] = -1;
+        if (deltaTail[from] == -1) deltaHead[from] = entry;
+        else deltaNext[deltaTail[from]] = entry;
+        deltaTail[from] = entry;
+        degree[from]++;
+        edgeCount++;
+        index(from, to, deltaHandle(entry));
+        if (deltaSize > Math.max(MIN_DELTA, (edgeCount + vertexCount) / 4)) compact();
+        return true;
+    }
+
+    /**
+     * Removes an edge by turning its slot into a tombstone
+     * Merges the adjacency once tombstones make up a quarter of the stored edges
+     * Time Complexity: O(1) amortized
+     * @param from Source vertex ID
+     * @param to Target vertex ID
+     * @return true if the edge was removed, false if it does not exist
+     */
+    public boolean remove(int from, int to) {
+        checkModifiable();
+        int slot = indexOf(from, to);
+        if (slot == -1) return false;
+        int handle = indexHandles[slot];
+        unindex(slot);
+        if (handle >= 0) targets[handle] = TOMBSTONE;
+        else deltaTarget[-2 - handle] = TOMBSTONE;
+        degree[from]--;
+        edgeCount--;
+        tombstones++;
+        if (tombstones > Math.max(MIN_DELTA, edgeCount / 4)) compact();
+        return true;
+    }
+
+    /**
+     * Checks whether an edge exists
+     * Time Complexity: O(1) expected
+     * @param from Source vertex ID
+     * @param to Target vertex ID
+     * @return true if the edge exists
+     */
+    public boolean contains(int from, int to) {
+        return indexOf(from, to) != -1;
+    }
+
+    /**
+     * Merges the delta buffer into the compacted arrays, dropping tombstones
+     * Time Complexity: O(V + E)
+     */
+    public void compact() {
+        checkModifiable();
+        mergeFrom(this);
+        Arrays.fill(deltaHead, 0, vertexCount, -1);
+        Arrays.fill(deltaTail, 0, vertexCount, -1);
+        deltaSize = 0;
+        tombstones = 0;
+        reindex();
+    }
+
+    /**
+     * Creates an immutable, fully compacted copy of this adjacency
+     * The copy shares no arrays with this adjacency, so it stays valid and
+     * unchanged while this one is modified, and it is safe to read from any thread
+     * Time Complexity: O(V + E)
+     * @return Read-only copy; add, remove, ensureVertex and compact throw on it
+     */
+    public CsrAdjacency frozenCopy() {
+        CsrAdjacency copy = new CsrAdjacency();
+        copy.vertexCount = vertexCount;
+        copy.edgeCount = edgeCount;
+        copy.degree = Arrays.copyOf(degree, vertexCount);
+        copy.deltaHead = new int[vertexCount];
+        Arrays.fill(copy.deltaHead, -1);
+        copy.mergeFrom(this);
+        copy.reindex();
+        copy.frozen = true;
+        return copy;
+    }
+
+    /**
+     * Replaces the compacted arrays with the live edges of an adjacency
+     * Sized from this adjacency's degrees, which must match the source's
+     * @param source Adjacency to read edges from, may be this one
+     */
+    private void mergeFrom(CsrAdjacency source) {
+        int[] newOffsets = new int[vertexCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            newOffsets[v + 1] = newOffsets[v] + degree[v];
+        }
+        int[] newTargets = new int[newOffsets[vertexCount]];
+        for (int v = 0; v < vertexCount; v++) {
+            int pos = newOffsets[v];
+            for (int h = source.first(v); h != END; h = source.next(v, h)) {
+                newTargets[pos++] = source.target(h);
+            }
+        }
+        offsets = newOffsets;
+        targets = newTargets;
+        csrVertices = vertexCount;
+    }
+
+    /**
+     * Rebuilds the edge index against the compacted arrays
+     * Every handle moves during a merge, so the old index is discarded
+     */
+    private void reindex() {
+        int capacity = 16;
+        while (capacity < edgeCount * 2) capacity <<= 1;
+        indexKeys = newIndex(capacity);
+        indexHandles = new int[capacity];
+        indexSize = 0;
+        for (int v = 0; v < csrVertices; v++) {
+            for (int h = offsets[v]; h < offsets[v + 1]; h++) index(v, targets[h], h);
+        }
+    }
+
+    /**
+     * Rejects modification of a frozen copy
+     * @throws UnsupportedOperationException If this adjacency is frozen
+     */
+    private void checkModifiable() {
+        if (frozen) throw new UnsupportedOperationException("Frozen adjacency cannot be modified");
+    }
+
+    /**
+     * Gets the handle of a vertex's first edge
+     * @param v Vertex ID
+     * @return Edge handle, or END if the vertex has no edges
+     */
+    public int first(int v) {
+        int h;
+        if (v < csrVertices && offsets[v] < offsets[v + 1]) h = offsets[v];
+        else h = v < vertexCount ? deltaHandle(deltaHead[v]) : END;
+        return skipRemoved(v, h);
+    }
+
+    /**
+     * Gets the handle of the edge following another edge of the same vertex
+     * @param v Vertex ID the edge belongs to
+     * @param handle Current edge handle
+     * @return Next edge handle, or END if there are no more edges
+     */
+    public int next(int v, int handle) {
+        return skipRemoved(v, rawNext(v, handle));
+    }
+
+    /**
+     * Steps over tombstones, starting at a handle
+     * @param v Vertex ID the edges belong to
+     * @param handle Candidate edge handle, or END
+     * @return First live edge handle at or after the candidate, or END
+     */
+    private int skipRemoved(int v, int handle) {
+        while (handle != END && target(handle) == TOMBSTONE) handle = rawNext(v, handle);
+        return handle;
+    }
+
+    /**
+     * Gets the slot following another slot of the same vertex, live or not
+     * @param v Vertex ID the slot belongs to
+     * @param handle Current edge handle
+     * @return Next edge handle, or END
+     */
+    private int rawNext(int v, int handle) {
+        if (handle >= 0) {
+            return handle + 1 < offsets[v + 1] ? handle + 1 : deltaHandle(deltaHead[v]);
+        }
+        return deltaHandle(deltaNext[-2 - handle]);
+    }
+
+    /**
+     * Gets the target vertex of an edge
+     * @param handle Edge handle
+     * @return Target vertex ID
+     */
+    public int target(int handle) {
+        return handle >= 0 ? targets[handle] : deltaTarget[-2 - handle];
+    }
+
+    /**
+     * Converts a delta buffer index into an edge handle
+     * Delta handles are negative so they never collide with compacted indexes
+     * @param entry Delta buffer index, or -1
+     * @return Edge handle, or END
+     */
+    private static int deltaHandle(int entry) {
+        return entry == -1 ? END : -2 - entry;
+    }
+
+    /**
+     * Creates an empty edge index table
+     * @param capacity Number of slots, a power of two
+     * @return Key array with every slot FREE
+     */
+    private static long[] newIndex(int capacity) {
+        long[] keys = new long[capacity];
+        Arrays.fill(keys, FREE);
+        return keys;
+    }
+
+    /**
+     * Gets the preferred index slot of an edge key
+     * @param key Edge key
+     * @param mask Table size minus one
+     * @return Slot number
+     */
+    private static int home(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Finds the index slot of an edge
+     * @param from Source vertex ID
+     * @param to Target vertex ID
+     * @return Slot number, or -1 if the edge is not indexed
+     */
+    private int indexOf(int from, int to) {
+        long key = (long) from << 32 | to;
+        int mask = indexKeys.length - 1;
+        for (int slot = home(key, mask); indexKeys[slot] != FREE; slot = (slot + 1) & mask) {
+            if (indexKeys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Records the handle of a new edge, doubling the table past half full
+     * @param from Source vertex ID
+     * @param to Target vertex ID
+     * @param handle Edge handle
+     */
+    private void index(int from, int to, int handle) {
+        if (indexSize * 2 >= indexKeys.length) {
+            long[] oldKeys = indexKeys;
+            int[] oldHandles = indexHandles;
+            indexKeys = newIndex(oldKeys.length * 2);
+            indexHandles = new int[oldKeys.length * 2];
+            indexSize = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != FREE) index((int) (oldKeys[i] >>> 32), (int) oldKeys[i], oldHandles[i]);
+            }
+        }
+        long key = (long) from << 32 | to;
+        int mask = indexKeys.length - 1;
+        int slot = home(key, mask);
+        while (indexKeys[slot] != FREE) slot = (slot + 1) & mask;
+        indexKeys[slot] = key;
+        indexHandles[slot] = handle;
+        indexSize++;
+    }
+
+    /**
+     * Frees an index slot, shifting later entries of the probe run back into the gap
+     * @param slot Slot to free
+     */
+    private void unindex(int slot) {
+        int mask = indexKeys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; indexKeys[next] != FREE; next = (next + 1) & mask) {
+            int want = home(indexKeys[next], mask);
+            // Move the entry back if its home is not cyclically within (gap, next]
+            if (((next - want) & mask) >= ((next - gap) & mask)) {
+                indexKeys[gap] = indexKeys[next];
+                indexHandles[gap] = indexHandles[next];
+                gap = next;
+            }
+        }
+        indexKeys[gap] = FREE;
+        indexSize--;
+    }
+
+    /**
+     * Gets the number of edges leaving a vertex
+     * Time Complexity: O(1)
+     * @param v Vertex ID
+     * @return Out-degree of the vertex
+     */
+    public int degree(int v) {
+        return v < vertexCount ? degree[v] : 0;
+    }
+
+    /**
+     * Gets the number of vertices known to this adjacency
+     * @return Vertex count
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Gets the total number of edges
+     * @return Edge count
+     */
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Gets the number of edges waiting in the delta buffer
+     * @return Number of edges not yet merged into the compacted arrays
+     */
+    public int pendingEdges() {
+        return deltaSize;
+    }
+
+    /**
+     * Gets the number of removed edges still occupying slots
+     * @return Tombstones left until the next merge
+     */
+    public int removedEdges() {
+        return tombstones;
+    }
+}
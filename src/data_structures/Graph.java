@@ -1,22 +1,168 @@
 package data_structures;
 
 import java.util.*;
+import java.util.function.IntConsumer;
 
 /**
- * Implementation of a directed graph using adjacency list representation
- * Supports basic graph operations including edge addition and graph traversal
+ * Implementation of a directed graph using compressed sparse row (CSR) adjacency
+ * Vertex names are interned once into dense integer IDs; edges are stored as
+ * primitive int arrays (see CsrAdjacency), so traversals never hash Strings
+ * or allocate per step. Supports edge addition and graph traversal;
+ * traversals are iterative and report vertices through a callback.
+ * Incoming edges are indexed as well, so both the successors and the
+ * predecessors of a vertex (and its in- and out-degree) are O(degree) to read.
+ * Duplicate edges are ignored, and edges and vertices can be removed; a
+ * removed vertex keeps its ID as a tombstone so other IDs never shift.
+ * The graph itself is not thread-safe. snapshot() returns an immutable copy
+ * that readers on any thread can use without locking while writers continue.
  * Used for managing task dependencies in the task management system
  */
 public class Graph {
-    /** Adjacency list representation of the graph using a Map */
-    private Map<String, List<String>> adjList;
+    /**
+     * Immutable view of the graph as it was when the snapshot was taken
+     * Holds its own compacted copy of both adjacencies, so it never changes
+     * and can be shared between threads
+     */
+    public static final class Snapshot {
+        private final int version;       // Graph version this snapshot was taken at
+        private final Map<String, Integer> ids;  // Vertex name to ID, unmodifiable
+        private final String[] names;    // Vertex names indexed by ID, null for removed vertices
+        private final CsrAdjacency out;  // Frozen outgoing edges
+        private final CsrAdjacency in;   // Frozen incoming edges
+        private volatile Map<String, List<String>> adjList;  // Built on first request
+
+        private Snapshot(Graph graph) {
+            this.version = graph.version;
+            this.ids = Collections.unmodifiableMap(new HashMap<>(graph.ids));
+            this.names = Arrays.copyOf(graph.names, graph.vertexCount);
+            this.out = graph.out.frozenCopy();
+            this.in = graph.in.frozenCopy();
+        }
+
+        /**
+         * Gets the number of vertex IDs in the snapshot, including removed vertices
+         * @return Number of vertex IDs
+         */
+        public int vertexCount() {
+            return names.length;
+        }
+
+        /**
+         * Gets the ID of a vertex
+         * @param name Vertex name
+         * @return Integer ID of the vertex, or -1 if the vertex does not exist
+         */
+        public int idOf(String name) {
+            Integer id = ids.get(name);
+            return id == null ? -1 : id;
+        }
+
+        /**
+         * Gets the name of a vertex
+         * @param id Vertex ID
+         * @return Name of the vertex, or null if the vertex was removed
+         */
+        public String nameOf(int id) {
+            return names[id];
+        }
+
+        /**
+         * Checks whether a vertex ID belongs to a removed vertex
+         * @param id Vertex ID
+         * @return true if the vertex was removed
+         */
+        public boolean isRemoved(int id) {
+            return names[id] == null;
+        }
+
+        /**
+         * Gets the outgoing edges of every vertex
+         * @return Frozen outgoing adjacency
+         */
+        public CsrAdjacency getSuccessors() {
+            return out;
+        }
+
+        /**
+         * Gets the incoming edges of every vertex
+         * @return Frozen incoming adjacency
+         */
+        public CsrAdjacency getPredecessors() {
+            return in;
+        }
+
+        /**
+         * Gets the number of edges leaving a vertex
+         * @param id Vertex ID
+         * @return Out-degree of the vertex
+         */
+        public int outDegree(int id) {
+            return out.degree(id);
+        }
+
+        /**
+         * Gets the number of edges entering a vertex
+         * @param id Vertex ID
+         * @return In-degree of the vertex
+         */
+        public int inDegree(int id) {
+            return in.degree(id);
+        }
+
+        /**
+         * Gets the adjacency list of the snapshot
+         * Vertices without outgoing edges are omitted
+         * @return Unmodifiable map from each vertex to the unmodifiable list of its targets
+         */
+        public Map<String, List<String>> getAdjList() {
+            Map<String, List<String>> result = adjList;
+            if (result == null) {
+                result = new LinkedHashMap<>();
+                for (int v = 0; v < names.length; v++) {
+                    if (out.degree(v) == 0) continue;
+                    List<String> targets = new ArrayList<>(out.degree(v));
+                    for (int h = out.first(v); h != CsrAdjacency.END; h = out.next(v, h)) {
+                        targets.add(names[out.target(h)]);
+                    }
+                    result.put(names[v], Collections.unmodifiableList(targets));
+                }
+                result = Collections.unmodifiableMap(result);
+                adjList = result;
+            }
+            return result;
+        }
+    }
+
+    /** Maps each vertex name to its integer ID */
+    private Map<String, Integer> ids;
+    /** Vertex names indexed by ID */
+    private String[] names;
+    /** Number of interned vertices */
+    private int vertexCount;
+    /** Outgoing edges of every vertex */
+    private CsrAdjacency out;
+    /** Incoming edges of every vertex (edge targets point back to the source) */
+    private CsrAdjacency in;
+    /** Visited flags reused by traversals, one bit per vertex ID */
+    private long[] visitedBits = new long[0];
+    /** Queue or stack of vertex IDs reused by traversals */
+    private int[] vertexBuffer = new int[0];
+    /** Next-edge handles of the DFS stack frames, parallel to vertexBuffer */
+    private int[] handles = new int[0];
+    /** Incremented on every change to the vertices or edges */
+    private int version;
+    /** Most recent snapshot, reused while the version is unchanged */
+    private volatile Snapshot snapshot;
 
     /**
      * Constructs a new empty Graph
-     * Initializes the adjacency list
+     * Initializes the intern table and adjacency
      */
     public Graph() {
-        adjList = new HashMap<>();
+        ids = new HashMap<>();
+        names = new String[16];
+        out = new CsrAdjacency();
+        in = new CsrAdjacency();
     }
 
     /**
@@ -24,9 +170,201 @@ public class Graph {
      * Time Complexity: O(1) amortized
      * @param from Source vertex
      * @param to Destination vertex
+     * @return true if the edge was added, false if it already exists
+     */
+    public boolean addEdge(String from, String to) {
+        return addEdge(intern(from), intern(to));
+    }
+
+    /**
+     * Adds a directed edge between two existing vertices by ID
+     * Time Complexity: O(1) amortized
+     * @param from Source vertex ID
+     * @param to Destination vertex ID
+     * @return true if the edge was added, false if it already exists
+     */
+    public boolean addEdge(int from, int to) {
+        if (!out.add(from, to)) return false;
+        in.add(to, from);
+        version++;
+        return true;
+    }
+
+    /**
+     * Removes a directed edge between two vertices
+     * Time Complexity: O(1) amortized
+     * @param from Source vertex
+     * @param to Destination vertex
+     * @return true if the edge was removed, false if it does not exist
+     */
+    public boolean removeEdge(String from, String to) {
+        int source = idOf(from), target = idOf(to);
+        return source != -1 && target != -1 && removeEdge(source, target);
+    }
+
+    /**
+     * Removes a directed edge between two vertices by ID
+     * Time Complexity: O(1) amortized
+     * @param from Source vertex ID
+     * @param to Destination vertex ID
+     * @return true if the edge was removed, false if it does not exist
+     */
+    public boolean removeEdge(int from, int to) {
+        if (!out.remove(from, to)) return false;
+        in.remove(to, from);
+        version++;
+        return true;
+    }
+
+    /**
+     * Checks whether a directed edge exists
+     * Time Complexity: O(1) expected
+     * @param from Source vertex ID
+     * @param to Destination vertex ID
+     * @return true if the edge exists
+     */
+    public boolean hasEdge(int from, int to) {
+        return out.contains(from, to);
+    }
+
+    /**
+     * Removes a vertex and every edge touching it
+     * The vertex's ID becomes a tombstone: it is never reused, and the name can
+     * be added again later under a new ID
+     * Time Complexity: O(degree of the vertex) amortized
+     * @param name Vertex name
+     * @return true if the vertex was removed, false if it does not exist
+     */
+    public boolean removeVertex(String name) {
+        Integer id = ids.remove(name);
+        if (id == null) return false;
+        int v = id;
+        for (int h = out.first(v); h != CsrAdjacency.END; h = out.first(v)) {
+            removeEdge(v, out.target(h));
+        }
+        for (int h = in.first(v); h != CsrAdjacency.END; h = in.first(v)) {
+            removeEdge(in.target(h), v);
+        }
+        names[v] = null;
+        version++;
+        return true;
+    }
+
+    /**
+     * Checks whether a vertex ID belongs to a removed vertex
+     * @param id Vertex ID
+     * @return true if the vertex was removed
+     */
+    public boolean isRemoved(int id) {
+        return names[id] == null;
+    }
+
+    /**
+     * Gets the ID of a vertex, assigning a new one if the name is not known yet
+     * Time Complexity: O(1) amortized
+     * @param name Vertex name
+     * @return Integer ID of the vertex
+     */
+    public int intern(String name) {
+        Integer id = ids.get(name);
+        if (id != null) return id;
+        if (vertexCount == names.length) names = Arrays.copyOf(names, vertexCount * 2);
+        names[vertexCount] = name;
+        ids.put(name, vertexCount);
+        out.ensureVertex(vertexCount);
+        in.ensureVertex(vertexCount);
+        version++;
+        return vertexCount++;
+    }
+
+    /**
+     * Gets the ID of a vertex without creating it
+     * @param name Vertex name
+     * @return Integer ID of the vertex, or -1 if the vertex does not exist
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Gets the name of a vertex
+     * @param id Vertex ID
+     * @return Name of the vertex, or null if the vertex was removed
+     */
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gets the number of vertex IDs handed out, including removed vertices
+     * Vertex IDs range from 0 to vertexCount() - 1
+     * @return Number of vertex IDs
+     */
+    public int vertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Gets the outgoing adjacency of the graph for traversal by vertex ID
+     * @return Outgoing edges in CSR form
+     */
+    public CsrAdjacency getSuccessors() {
+        return out;
+    }
+
+    /**
+     * Gets the incoming adjacency of the graph for traversal by vertex ID
+     * The targets of a vertex's edges in this adjacency are its predecessors
+     * @return Incoming edges in CSR form
+     */
+    public CsrAdjacency getPredecessors() {
+        return in;
+    }
+
+    /**
+     * Gets the number of edges leaving a vertex
+     * Time Complexity: O(1)
+     * @param id Vertex ID
+     * @return Out-degree of the vertex
+     */
+    public int outDegree(int id) {
+        return out.degree(id);
+    }
+
+    /**
+     * Gets the number of edges entering a vertex
+     * Time Complexity: O(1)
+     * @param id Vertex ID
+     * @return In-degree of the vertex
+     */
+    public int inDegree(int id) {
+        return in.degree(id);
+    }
+
+    /**
+     * Merges buffered edges into the compacted CSR arrays
+     * Time Complexity: O(V + E)
      */
-    public void addEdge(String from, String to) {
-        adjList.computeIfAbsent(from, k -> new ArrayList<>()).add(to);
+    public void compact() {
+        out.compact();
+        in.compact();
+    }
+
+    /**
+     * Gets an immutable snapshot of the graph
+     * The snapshot is cached and reused until the graph changes. May be called
+     * by several readers at once, but not while the graph is being modified.
+     * Time Complexity: O(1) if unchanged since the last snapshot, O(V + E) otherwise
+     * @return Snapshot of the current graph
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null || current.version != version) {
+            current = new Snapshot(this);
+            snapshot = current;
+        }
+        return current;
     }
 
     /**
@@ -35,17 +373,36 @@ public class Graph {
      * @param start Starting vertex for BFS traversal
      */
     public void bfs(String start) {
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        queue.add(start);
-
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            if (visited.contains(current)) continue;
-            System.out.println(current);
-            visited.add(current);
-            for (String neighbor : adjList.getOrDefault(current, new ArrayList<>())) {
-                if (!visited.contains(neighbor)) queue.add(neighbor);
+        int source = idOf(start);
+        if (source == -1) System.out.println(start);
+        else bfs(source, v -> System.out.println(names[v]));
+    }
+
+    /**
+     * Performs Breadth-First Search from a vertex, reporting each vertex reached
+     * Each vertex is enqueued at most once; the queue and visited bitset are
+     * reused between traversals, so nothing is allocated per step. The visitor
+     * must not start another traversal of this graph.
+     * Time Complexity: O(V + E)
+     * @param source Starting vertex ID
+     * @param visitor Callback receiving each vertex ID in BFS order
+     */
+    public void bfs(int source, IntConsumer visitor) {
+        long[] visited = resetVisited();
+        int[] queue = workspace();
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        visited[source >>> 6] |= 1L << source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            visitor.accept(current);
+            for (int h = out.first(current); h != CsrAdjacency.END; h = out.next(current, h)) {
+                int neighbor = out.target(h);
+                if ((visited[neighbor >>> 6] & (1L << neighbor)) == 0) {
+                    visited[neighbor >>> 6] |= 1L << neighbor;
+                    queue[tail++] = neighbor;
+                }
             }
         }
     }
@@ -56,30 +413,88 @@ public class Graph {
      * @param start Starting vertex for DFS traversal
      */
     public void dfs(String start) {
-        Set<String> visited = new HashSet<>();
-        dfsHelper(start, visited);
+        int source = idOf(start);
+        if (source == -1) System.out.println(start);
+        else dfs(source, v -> System.out.println(names[v]));
     }
 
     /**
-     * Helper method for DFS traversal
-     * Recursively visits all vertices reachable from the current node
-     * @param node Current vertex being visited
-     * @param visited Set of vertices already visited
+     * Performs Depth-First Search from a vertex, reporting each vertex in pre-order
+     * Uses an explicit stack of (vertex, next edge) frames instead of recursion,
+     * so arbitrarily long dependency chains cannot overflow the thread stack.
+     * The stack and visited bitset are reused between traversals. The visitor
+     * must not start another traversal of this graph.
+     * Time Complexity: O(V + E)
+     * @param source Starting vertex ID
+     * @param visitor Callback receiving each vertex ID in DFS pre-order
      */
-    private void dfsHelper(String node, Set<String> visited) {
-        if (visited.contains(node)) return;
-        System.out.println(node);
-        visited.add(node);
-        for (String neighbor : adjList.getOrDefault(node, new ArrayList<>())) {
-            dfsHelper(neighbor, visited);
+    public void dfs(int source, IntConsumer visitor) {
+        long[] visited = resetVisited();
+        int[] stackVertex = workspace();
+        int[] stackHandle = handles;
+        int top = 0;
+        visited[source >>> 6] |= 1L << source;
+        visitor.accept(source);
+        stackVertex[top] = source;
+        stackHandle[top++] = out.first(source);
+
+        while (top > 0) {
+            int node = stackVertex[top - 1];
+            int h = stackHandle[top - 1];
+            if (h == CsrAdjacency.END) {
+                top--;
+                continue;
+            }
+            stackHandle[top - 1] = out.next(node, h);
+            int neighbor = out.target(h);
+            if ((visited[neighbor >>> 6] & (1L << neighbor)) == 0) {
+                visited[neighbor >>> 6] |= 1L << neighbor;
+                visitor.accept(neighbor);
+                stackVertex[top] = neighbor;
+                stackHandle[top++] = out.first(neighbor);
+            }
         }
     }
 
+    /**
+     * Clears the reusable visited bitset, growing it to cover every vertex
+     * @return Bitset with one bit per vertex ID, all clear
+     */
+    private long[] resetVisited() {
+        int words = (vertexCount + 63) >>> 6;
+        if (visitedBits.length < words) visitedBits = new long[Math.max(words, visitedBits.length * 2)];
+        else Arrays.fill(visitedBits, 0, words, 0L);
+        return visitedBits;
+    }
+
+    /**
+     * Gets the reusable traversal buffers, growing them to hold every vertex
+     * @return Vertex buffer with room for vertexCount() entries; handles is sized to match
+     */
+    private int[] workspace() {
+        if (vertexBuffer.length < vertexCount) {
+            int capacity = Math.max(vertexCount, vertexBuffer.length * 2);
+            vertexBuffer = new int[capacity];
+            handles = new int[capacity];
+        }
+        return vertexBuffer;
+    }
+
     /**
      * Gets the adjacency list representation of the graph
+     * Built on demand from the CSR arrays; vertices without outgoing edges are omitted
      * @return Map containing the graph's adjacency list
      */
     public Map<String, List<String>> getAdjList() {
+        Map<String, List<String>> adjList = new LinkedHashMap<>();
+        for (int v = 0; v < vertexCount; v++) {
+            if (out.degree(v) == 0) continue;
+            List<String> targets = new ArrayList<>(out.degree(v));
+            for (int h = out.first(v); h != CsrAdjacency.END; h = out.next(v, h)) {
+                targets.add(names[out.target(h)]);
+            }
+            adjList.put(names[v], targets);
+        }
         return adjList;
     }
 
@@ -96,5 +511,39 @@ public class Graph {
         graph.bfs("Task A");
         System.out.println("DFS from Task A:");
         graph.dfs("Task A");
+
+        // Edges added after a merge are read from the delta buffer until the next one
+        graph.compact();
+        graph.addEdge("Task C", "Task D");
+        System.out.println("Adjacency after compaction plus one buffered edge: " + graph.getAdjList());
+        int d = graph.idOf("Task D");
+        CsrAdjacency predecessors = graph.getPredecessors();
+        System.out.print("Task D has in-degree " + graph.inDegree(d) + ", predecessors:");
+        for (int h = predecessors.first(d); h != CsrAdjacency.END; h = predecessors.next(d, h)) {
+            System.out.print(" " + graph.nameOf(predecessors.target(h)));
+        }
+        System.out.println();
+
+        // Duplicates are ignored; removing a vertex drops its edges in both directions
+        graph.addEdge("Task A", "Task B");
+        graph.removeVertex("Task B");
+        graph.removeEdge("Task A", "Task C");
+        System.out.println("After removing Task B and A -> C: " + graph.getAdjList()
+            + ", Task D in-degree " + graph.inDegree(d));
+
+        // A snapshot keeps the graph as it was while the graph moves on
+        Snapshot before = graph.snapshot();
+        graph.addEdge("Task A", "Task D");
+        System.out.println("Snapshot: " + before.getAdjList() + ", current: " + graph.getAdjList());
+
+        // A chain far deeper than the thread stack allows for recursion
+        Graph chain = new Graph();
+        int length = 200_000;
+        for (int i = 0; i < length; i++) {
+            chain.addEdge("Step " + i, "Step " + (i + 1));
+        }
+        int[] reached = {0};
+        chain.dfs(chain.idOf("Step 0"), v -> reached[0]++);
+        System.out.println("DFS reached " + reached[0] + " of " + (length + 1) + " chained steps");
     }
 }
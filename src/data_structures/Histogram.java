@@ -0,0 +1,153 @@
+package data_structures;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Counts of keys that mostly fall in a dense range, such as priorities or months
+ * Counts in the dense range live in a primitive int array indexed by key minus
+ * an offset, so counting is O(1) with no boxing. The array grows in either
+ * direction to cover new keys, but never past MAX_DENSE keys; keys beyond that
+ * are counted in a sorted map instead, so a few far-off keys cost one map
+ * entry each rather than an array spanning the gap.
+ */
+public class Histogram {
+    /** Most keys the dense array may cover */
+    public static final int MAX_DENSE = 1 << 12;
+    /** Keys further than this from zero are always sparse, so index arithmetic cannot overflow */
+    private static final long MAX_DENSE_KEY = Long.MAX_VALUE / 2;
+
+    /**
+     * Receives the nonzero counts of a histogram
+     */
+    public interface Visitor {
+        /**
+         * Called once per key with a nonzero count, in ascending order of key
+         * @param key The key
+         * @param count Its count
+         */
+        void visit(long key, int count);
+    }
+
+    /** Count of each key in the dense range, where counts[i] is the count of key offset + i */
+    private int[] counts = new int[0];
+    /** Key stored at index 0 */
+    private long offset;
+    /** Nonzero counts of keys outside the dense range */
+    private final TreeMap<Long, Integer> sparse = new TreeMap<>();
+    /** Sum of all counts */
+    private int total;
+
+    /**
+     * Adds to the count of a key
+     * Time Complexity: O(1) amortized in the dense range, O(log n) outside it
+     * @param key The key
+     * @param delta Amount to add, negative to subtract
+     */
+    public void add(long key, int delta) {
+        if (delta == 0) return;
+        if (!inDense(key) && !sparse.containsKey(key)) grow(key);
+        if (inDense(key)) {
+            counts[(int) (key - offset)] += delta;
+        } else {
+            sparse.merge(key, delta, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        total += delta;
+    }
+
+    /**
+     * Gets the count of a key
+     * Time Complexity: O(1) in the dense range, O(log n) outside it
+     * @param key The key
+     * @return The count, 0 if the key was never added
+     */
+    public int count(long key) {
+        if (inDense(key)) return counts[(int) (key - offset)];
+        return sparse.getOrDefault(key, 0);
+    }
+
+    /**
+     * Gets the sum of all counts
+     * Time Complexity: O(1)
+     * @return Total count
+     */
+    public int total() {
+        return total;
+    }
+
+    /**
+     * Visits every key with a nonzero count, in ascending order of key
+     * Time Complexity: O(dense range + keys outside it)
+     * @param visitor Receives each key and its count
+     */
+    public void forEach(Visitor visitor) {
+        Map<Long, Integer> below = sparse.headMap(offset, false);
+        for (Map.Entry<Long, Integer> entry : below.entrySet()) {
+            visitor.visit(entry.getKey(), entry.getValue());
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) visitor.visit(offset + i, counts[i]);
+        }
+        for (Map.Entry<Long, Integer> entry : sparse.tailMap(offset, true).entrySet()) {
+            visitor.visit(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Checks whether a key is covered by the dense array
+     * @param key The key
+     * @return true if the key has a slot in the array
+     */
+    private boolean inDense(long key) {
+        return key >= offset && key < offset + counts.length;
+    }
+
+    /**
+     * Widens the array to cover a key, at least doubling it, unless that would
+     * make it cover more than MAX_DENSE keys, in which case the key stays sparse
+     * The first key creates the array
+     * @param key Key that should fit
+     */
+    private void grow(long key) {
+        if (key < -MAX_DENSE_KEY || key > MAX_DENSE_KEY) return;
+        if (counts.length == 0) {
+            counts = new int[8];
+            offset = key;
+            return;
+        }
+        long low = Math.min(offset, key);
+        long high = Math.max(offset + counts.length - 1, key);
+        if (high - low + 1 > MAX_DENSE) return;
+        int length = (int) Math.min(MAX_DENSE, Math.max(high - low + 1, counts.length * 2L));
+        int[] grown = new int[length];
+        // Leave the spare room on the side the array grew towards
+        int start = key < offset ? length - counts.length : 0;
+        System.arraycopy(counts, 0, grown, start, counts.length);
+        offset -= start;
+        counts = grown;
+        // Keys now inside the array move out of the sparse map
+        Map<Long, Integer> covered = sparse.subMap(offset, true, offset + length - 1, true);
+        for (Map.Entry<Long, Integer> entry : covered.entrySet()) {
+            counts[(int) (entry.getKey() - offset)] = entry.getValue();
+        }
+        covered.clear();
+    }
+
+    /**
+     * Main method for testing the Histogram implementation
+     */
+    public static void main(String[] args) {
+        Histogram priorities = new Histogram();
+        for (int priority : new int[] {5, 3, 8, 3, 10, 1, 3}) {
+            priorities.add(priority, 1);
+        }
+        priorities.add(8, -1);
+        priorities.add(Integer.MAX_VALUE, 1);  // Far-off keys are counted without a huge array
+        priorities.add(Integer.MIN_VALUE, 1);
+        System.out.println("Total: " + priorities.total());
+        StringBuilder line = new StringBuilder();
+        priorities.forEach((key, count) -> line.append(key).append('=').append(count).append(' '));
+        System.out.println("Counts: " + line.toString().trim());
+        System.out.println("Count of 7: " + priorities.count(7) + ", count of -1: " + priorities.count(-1));
+    }
+}
@@ -0,0 +1,315 @@
+package data_structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToIntFunction;
+
+/**
+ * Addressable binary max-heap of elements with int IDs and int priorities
+ * Every element remembers its position in the heap, and an IntHashMap finds
+ * an element's entry by ID, so removing an element or re-ordering it after
+ * its priority changed is O(log n) instead of a linear search.
+ * Each entry caches the priority it is ordered by; the heap stays valid while
+ * priorities change outside it, and update re-reads one element's priority.
+ * Elements with equal priority leave in the order they reached that priority.
+ * @param <T> Type of the elements
+ */
+public class IndexedHeap<T> implements AddressableQueue<T> {
+    /**
+     * Heap slot holding an element, its cached priority and its position
+     */
+    private static final class Entry<T> {
+        final T element;
+        long sequence;  // Order of arrival at the current priority, breaks ties first-in first-out
+        int priority;
+        int position;
+
+        Entry(T element, int priority, long sequence) {
+            this.element = element;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+
+    /** Gives an element's unique ID */
+    private final ToIntFunction<? super T> idOf;
+    /** Gives an element's current priority, higher leaves first */
+    private final ToIntFunction<? super T> priorityOf;
+    /** Heap-ordered entries */
+    private Entry<T>[] heap;
+    /** Entry of each element by ID */
+    private final IntHashMap<Entry<T>> entries = new IntHashMap<>();
+    /** Number of elements */
+    private int size;
+    /** Sequence number for the next added element */
+    private long nextSequence;
+
+    /**
+     * Constructs an empty heap
+     * @param idOf Gives an element's unique ID
+     * @param priorityOf Gives an element's current priority, higher leaves first
+     */
+    @SuppressWarnings("unchecked")
+    public IndexedHeap(ToIntFunction<? super T> idOf, ToIntFunction<? super T> priorityOf) {
+        this.idOf = idOf;
+        this.priorityOf = priorityOf;
+        this.heap = (Entry<T>[]) new Entry<?>[16];
+    }
+
+    /**
+     * Adds an element
+     * Time Complexity: O(log n)
+     * @param element The element
+     * @return true if added, false if an element with the same ID is already in the heap
+     */
+    @Override
+    public boolean add(T element) {
+        int id = idOf.applyAsInt(element);
+        if (entries.containsKey(id)) return false;
+        Entry<T> entry = new Entry<>(element, priorityOf.applyAsInt(element), nextSequence++);
+        entries.put(id, entry);
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        heap[size] = entry;
+        entry.position = size++;
+        siftUp(entry);
+        return true;
+    }
+
+    /**
+     * Gets the element with the highest priority without removing it
+     * Time Complexity: O(1)
+     * @return The element, or null if the heap is empty
+     */
+    @Override
+    public T peek() {
+        return size == 0 ? null : heap[0].element;
+    }
+
+    /**
+     * Removes the element with the highest priority
+     * Time Complexity: O(log n)
+     * @return The element, or null if the heap is empty
+     */
+    @Override
+    public T poll() {
+        if (size == 0) return null;
+        T top = heap[0].element;
+        remove(idOf.applyAsInt(top));
+        return top;
+    }
+
+    /**
+     * Removes an element by ID
+     * Time Complexity: O(log n)
+     * @param id The element's ID
+     * @return The removed element, or null if no element has the ID
+     */
+    @Override
+    public T remove(int id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) return null;
+        Entry<T> last = heap[--size];
+        heap[size] = null;
+        if (last != entry) {
+            heap[entry.position] = last;
+            last.position = entry.position;
+            if (!siftUp(last)) siftDown(last);
+        }
+        return entry.element;
+    }
+
+    /**
+     * Re-reads an element's priority and moves it to its new place
+     * Covers both increase-key and decrease-key; an element whose priority
+     * changed goes behind the elements already at the new priority
+     * Time Complexity: O(log n)
+     * @param id The element's ID
+     * @return true if the element is in the heap
+     */
+    @Override
+    public boolean update(int id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) return false;
+        int priority = priorityOf.applyAsInt(entry.element);
+        if (priority == entry.priority) return true;
+        entry.priority = priority;
+        entry.sequence = nextSequence++;
+        if (!siftUp(entry)) siftDown(entry);
+        return true;
+    }
+
+    /**
+     * Checks whether an element is in the heap
+     * Time Complexity: O(1)
+     * @param id The element's ID
+     * @return true if an element with the ID is in the heap
+     */
+    @Override
+    public boolean contains(int id) {
+        return entries.containsKey(id);
+    }
+
+    /**
+     * Gets the number of elements
+     * @return Number of elements in the heap
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the heap has no elements
+     * @return true if the heap is empty
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Gets an iterator over the elements in the order they would be polled
+     * The queue must not be modified while the iterator is in use
+     * Time Complexity: O(k log k) for the first k elements
+     * @return Ordered iterator, highest priority first
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Cursor();
+    }
+
+    /**
+     * Ordered walk of the heap that leaves it untouched
+     * The next element is always the best heap position whose parent was
+     * already returned, so it keeps a small frontier heap of such positions:
+     * returning a position adds its two children, and after k elements the
+     * frontier holds at most k + 1 positions.
+     */
+    private class Cursor implements Iterator<T> {
+        private int[] frontier = new int[16];  // Heap positions, ordered like their entries
+        private int count;                     // Number of positions in the frontier
+
+        Cursor() {
+            if (size > 0) push(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return count > 0;
+        }
+
+        @Override
+        public T next() {
+            if (count == 0) throw new NoSuchElementException();
+            int top = frontier[0];
+            int last = frontier[--count];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count) break;
+                if (child + 1 < count && before(heap[frontier[child + 1]], heap[frontier[child]])) child++;
+                if (!before(heap[frontier[child]], heap[last])) break;
+                frontier[i] = frontier[child];
+                i = child;
+            }
+            frontier[i] = last;
+            if (2 * top + 1 < size) push(2 * top + 1);
+            if (2 * top + 2 < size) push(2 * top + 2);
+            return heap[top].element;
+        }
+
+        /**
+         * Adds a heap position to the frontier
+         */
+        private void push(int position) {
+            if (count == frontier.length) frontier = Arrays.copyOf(frontier, count * 2);
+            int i = count++;
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!before(heap[position], heap[frontier[parent]])) break;
+                frontier[i] = frontier[parent];
+                i = parent;
+            }
+            frontier[i] = position;
+        }
+    }
+
+    /**
+     * Moves an entry towards the root while it comes before its parent
+     * @param entry The entry
+     * @return true if the entry moved
+     */
+    private boolean siftUp(Entry<T> entry) {
+        int i = entry.position;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!before(entry, heap[parent])) break;
+            place(heap[parent], i);
+            i = parent;
+        }
+        boolean moved = i != entry.position;
+        place(entry, i);
+        return moved;
+    }
+
+    /**
+     * Moves an entry towards the leaves while a child comes before it
+     * @param entry The entry
+     */
+    private void siftDown(Entry<T> entry) {
+        int i = entry.position;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], entry)) break;
+            place(heap[child], i);
+            i = child;
+        }
+        place(entry, i);
+    }
+
+    /**
+     * Stores an entry at a heap position
+     */
+    private void place(Entry<T> entry, int i) {
+        heap[i] = entry;
+        entry.position = i;
+    }
+
+    /**
+     * Compares two entries by priority, then by insertion order
+     * @return true if a should leave the heap before b
+     */
+    private static boolean before(Entry<?> a, Entry<?> b) {
+        if (a.priority != b.priority) return a.priority > b.priority;
+        return a.sequence < b.sequence;
+    }
+
+    /**
+     * Main method for testing the IndexedHeap implementation
+     */
+    public static void main(String[] args) {
+        int[] priorities = {5, 3, 8, 1, 8, 6};
+        IndexedHeap<Integer> heap = new IndexedHeap<>(id -> id, id -> priorities[id]);
+        for (int id = 0; id < priorities.length; id++) {
+            heap.add(id);
+        }
+        System.out.println("Highest priority ID: " + heap.peek());
+
+        priorities[3] = 10;  // ID 3 becomes the most urgent
+        heap.update(3);
+        priorities[2] = 2;  // ID 2 drops below the rest
+        heap.update(2);
+        heap.remove(0);
+        System.out.println("Size after removing ID 0: " + heap.size());
+        System.out.println("Top 3 IDs: " + heap.topK(3));
+
+        StringBuilder polled = new StringBuilder();
+        while (!heap.isEmpty()) {
+            polled.append(heap.poll()).append(' ');
+        }
+        System.out.println("Polled IDs: " + polled.toString().trim());
+    }
+}
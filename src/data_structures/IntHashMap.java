@@ -0,0 +1,179 @@
+package data_structures;
+
+/**
+ * Hash map from primitive int keys to object values
+ * Keys are stored in an int array with open addressing and linear probing,
+ * so lookups never box the key or follow a chain of entry objects.
+ * Removal shifts the rest of the probe run back instead of leaving
+ * tombstones, so lookups stay fast however many keys come and go.
+ * Null values are not allowed; a null value marks an empty slot.
+ * @param <V> Type of the values
+ */
+public class IntHashMap<V> {
+    /** Key of each slot, meaningful only where the value is not null */
+    private int[] keys;
+    /** Value of each slot, null when the slot is empty */
+    private Object[] values;
+    /** Number of entries */
+    private int size;
+
+    /**
+     * Constructs an empty map
+     */
+    public IntHashMap() {
+        keys = new int[16];
+        values = new Object[16];
+    }
+
+    /**
+     * Gets the value stored for a key
+     * Time Complexity: O(1) expected
+     * @param key The key
+     * @return The value, or null if the key is not present
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int slot = find(key);
+        return slot == -1 ? null : (V) values[slot];
+    }
+
+    /**
+     * Checks whether a key is present
+     * Time Complexity: O(1) expected
+     * @param key The key
+     * @return true if the map has a value for the key
+     */
+    public boolean containsKey(int key) {
+        return find(key) != -1;
+    }
+
+    /**
+     * Stores a value for a key, replacing any previous value
+     * Time Complexity: O(1) amortized
+     * @param key The key
+     * @param value The value, not null
+     * @return The previous value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) throw new IllegalArgumentException("IntHashMap does not store null values");
+        int mask = keys.length - 1;
+        int slot = home(key, mask);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) resize();
+        return null;
+    }
+
+    /**
+     * Removes the value stored for a key
+     * Time Complexity: O(1) expected
+     * @param key The key
+     * @return The removed value, or null if the key was not present
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int slot = find(key);
+        if (slot == -1) return null;
+        V removed = (V) values[slot];
+        int mask = keys.length - 1;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            int want = home(keys[next], mask);
+            // Move the entry back if its home is not cyclically within (gap, next]
+            if (((next - want) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Gets the number of entries
+     * @return Number of keys in the map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Finds the slot holding a key
+     * @param key The key
+     * @return Slot index, or -1 if the key is not present
+     */
+    private int find(int key) {
+        int mask = keys.length - 1;
+        for (int slot = home(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the preferred slot of a key
+     * Multiplying by a large odd constant spreads sequential IDs across the table
+     * @param key The key
+     * @param mask Table size minus one
+     * @return Slot index
+     */
+    private static int home(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * Doubles the table and re-inserts every entry
+     * Time Complexity: O(n)
+     */
+    @SuppressWarnings("unchecked")
+    private void resize() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new Object[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) put(oldKeys[i], (V) oldValues[i]);
+        }
+    }
+
+    /**
+     * Main method for testing the IntHashMap implementation
+     */
+    public static void main(String[] args) {
+        IntHashMap<String> map = new IntHashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, "Task " + i);
+        }
+        System.out.println("Size after 100000 puts: " + map.size());
+        System.out.println("Get 4242: " + map.get(4242));
+
+        for (int i = 0; i < 100_000; i += 2) {
+            map.remove(i);
+        }
+        System.out.println("Size after removing even keys: " + map.size());
+        System.out.println("Contains 4242: " + map.containsKey(4242) + ", contains 4243: " + map.containsKey(4243));
+        System.out.println("Replaced: " + map.put(-7, "first") + " then " + map.put(-7, "second")
+            + ", get -7: " + map.get(-7));
+    }
+}
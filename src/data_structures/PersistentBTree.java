@@ -0,0 +1,435 @@
+package data_structures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import tasks.Task;
+
+/**
+ * Persistent (immutable) AVL tree of tasks ordered by due date
+ * Nodes are never modified after construction. Insert and remove copy only
+ * the nodes on the path from the root to the change (O(log n) new nodes per
+ * write) and publish the new root through a single atomic reference, so any
+ * number of readers can hold a consistent Snapshot while writers continue.
+ * Taking a snapshot is O(1) and never blocks.
+ * Nodes copy the task's ID, name and due date when it is inserted instead of
+ * holding the mutable Task, so later edits to a task never show up in a snapshot.
+ */
+public class PersistentBTree {
+    /**
+     * Immutable copy of a task's ID, name and due date as it was inserted
+     */
+    public static final class Entry {
+        private final int id;        // Task ID
+        private final String name;   // Task name
+        private final long due;      // Due date in epoch milliseconds, Long.MAX_VALUE when unset
+
+        private Entry(int id, String name, long due) {
+            this.id = id;
+            this.name = name;
+            this.due = due;
+        }
+
+        /**
+         * Gets the task ID
+         * @return Task ID
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Gets the task name
+         * @return Task name when it was inserted
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the due date
+         * @return New Date holding the due date when the task was inserted, null if unset
+         */
+        public Date getDueDate() {
+            return due == Long.MAX_VALUE ? null : new Date(due);
+        }
+    }
+
+    /**
+     * Immutable tree node
+     * Keyed by (due date, task name, insertion order) like BTree
+     */
+    private static final class Node {
+        final String task;  // Task name
+        final long due;     // Due date in epoch milliseconds, Long.MAX_VALUE when unset
+        final long seq;     // Insertion sequence number, breaks ties between equal keys
+        final Entry item;   // Copy of the task stored with this entry
+        final Node left, right;  // Child subtrees
+        final int height;   // Height of the subtree rooted at this node (leaf = 1)
+        final int size;     // Number of nodes in the subtree rooted at this node
+
+        Node(Entry item, long seq, Node left, Node right) {
+            this.task = item.name;
+            this.due = item.due;
+            this.seq = seq;
+            this.item = item;
+            this.left = left;
+            this.right = right;
+            this.height = 1 + Math.max(height(left), height(right));
+            this.size = 1 + size(left) + size(right);
+        }
+
+        /**
+         * Copies this node's entry with new children
+         * @param left New left subtree
+         * @param right New right subtree
+         * @return New node holding the same entry
+         */
+        Node with(Node left, Node right) {
+            return new Node(item, seq, left, right);
+        }
+    }
+
+    /**
+     * Read-only view of the tree as it was when the snapshot was taken
+     * Later inserts and removals are never visible through a snapshot
+     */
+    public static final class Snapshot {
+        private final Node root;  // Root of the tree version this snapshot sees
+
+        private Snapshot(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Gets the number of tasks in this snapshot
+         * Time Complexity: O(1)
+         * @return Number of tasks
+         */
+        public int size() {
+            return PersistentBTree.size(root);
+        }
+
+        /**
+         * Collects the tasks due within a date range, inclusive on both ends
+         * Time Complexity: O(log n + k) where k is the number of entries in range
+         * @param from Earliest due date to include
+         * @param to Latest due date to include
+         * @return Entries of the tasks that fall in the range, in due-date order
+         */
+        public List<Entry> range(Date from, Date to) {
+            List<Entry> result = new ArrayList<>();
+            rangeRecursive(root, from.getTime(), to.getTime(), result);
+            return result;
+        }
+
+        /**
+         * Recursive helper method for range collection
+         * @param node Current node in recursion
+         * @param from Lower bound in epoch milliseconds
+         * @param to Upper bound in epoch milliseconds
+         * @param result List receiving the tasks in range
+         */
+        private static void rangeRecursive(Node node, long from, long to, List<Entry> result) {
+            if (node == null) return;
+            if (node.due >= from) rangeRecursive(node.left, from, to, result);
+            if (node.due >= from && node.due <= to && node.due != Long.MAX_VALUE) {
+                result.add(node.item);
+            }
+            if (node.due <= to) rangeRecursive(node.right, from, to, result);
+        }
+
+        /**
+         * Visits every task in ascending order of due dates
+         * Iterative with an explicit stack bounded by the tree height
+         * Time Complexity: O(n)
+         * @param visitor Callback receiving each task
+         */
+        public void forEachInOrder(BTree.Visitor visitor) {
+            Node[] stack = new Node[height(root)];
+            int top = 0;
+            Node node = root;
+            while (node != null || top > 0) {
+                while (node != null) {
+                    stack[top++] = node;
+                    node = node.left;
+                }
+                node = stack[--top];
+                visitor.visit(node.task, node.due);
+                node = node.right;
+            }
+        }
+    }
+
+    private final AtomicReference<Node> root = new AtomicReference<>();  // Current published version
+    private final AtomicLong nextSeq = new AtomicLong();  // Sequence number for the next inserted node
+
+    /**
+     * Inserts a copy of a task keyed by its name and due date
+     * Time Complexity: O(log n), copying O(log n) nodes
+     * @param task The task to insert
+     */
+    public void insert(Task task) {
+        Node added = new Node(entryOf(task), nextSeq.getAndIncrement(), null, null);
+        Node current, updated;
+        do {
+            current = root.get();
+            updated = insertRecursive(current, added);
+        } while (!root.compareAndSet(current, updated));
+    }
+
+    /**
+     * Replaces the current version with a balanced tree built from a collection of tasks
+     * Time Complexity: O(n) for input sorted by due date, O(n log n) / cores otherwise
+     * @param tasks Tasks to load, in any order
+     */
+    public void bulkLoad(Collection<Task> tasks) {
+        Task[] sorted = tasks.toArray(new Task[0]);
+        for (int i = 1; i < sorted.length; i++) {
+            if (BTree.DUE_DATE_ORDER.compare(sorted[i - 1], sorted[i]) > 0) {
+                Arrays.parallelSort(sorted, BTree.DUE_DATE_ORDER);
+                break;
+            }
+        }
+        long firstSeq = nextSeq.getAndAdd(sorted.length);
+        root.set(build(sorted, 0, sorted.length - 1, firstSeq));
+    }
+
+    /**
+     * Recursive helper method that builds a balanced subtree from a sorted slice of tasks
+     * @param tasks Tasks in key order
+     * @param lo Index of the first task of the slice
+     * @param hi Index of the last task of the slice
+     * @param firstSeq Sequence number of the task at index 0
+     * @return Root of the subtree, or null for an empty slice
+     */
+    private static Node build(Task[] tasks, int lo, int hi, long firstSeq) {
+        if (lo > hi) return null;
+        int mid = (lo + hi) >>> 1;
+        return new Node(entryOf(tasks[mid]), firstSeq + mid,
+            build(tasks, lo, mid - 1, firstSeq), build(tasks, mid + 1, hi, firstSeq));
+    }
+
+    /**
+     * Copies the fields of a task that the tree keeps
+     * @param task The task
+     * @return Immutable entry with the task's current ID, name and due date
+     */
+    private static Entry entryOf(Task task) {
+        Date dueDate = task.getDueDate();
+        return new Entry(task.getId(), task.getName(), dueDate == null ? Long.MAX_VALUE : dueDate.getTime());
+    }
+
+    /**
+     * Removes a task with the given name and due date
+     * Time Complexity: O(log n), copying O(log n) nodes
+     * @param task The task name
+     * @param dueDate The task's due date, may be null
+     * @return true if a matching task was removed, false if none was found
+     */
+    public boolean remove(String task, Date dueDate) {
+        return remove(task, dueDate, -1, true);
+    }
+
+    /**
+     * Removes a task's own entry
+     * Matches the ID as well as the name and due date, so another task with
+     * the same name and due date is left in place
+     * Time Complexity: O(log n), copying O(log n) nodes
+     * @param task The task, with the name and due date it was inserted under
+     * @return true if the task's entry was removed, false if none was found
+     */
+    public boolean remove(Task task) {
+        return remove(task.getName(), task.getDueDate(), task.getId(), false);
+    }
+
+    /**
+     * Removes an entry with the given name and due date, and optionally ID
+     * @param task The task name
+     * @param dueDate The task's due date, may be null
+     * @param id Task ID to match, ignored when anyId is true
+     * @param anyId true to remove any entry with the name and due date
+     * @return true if a matching entry was removed
+     */
+    private boolean remove(String task, Date dueDate, int id, boolean anyId) {
+        long due = dueDate == null ? Long.MAX_VALUE : dueDate.getTime();
+        Node current, updated;
+        do {
+            current = root.get();
+            updated = removeRecursive(current, task, due, id, anyId);
+            if (updated == current) return false;
+        } while (!root.compareAndSet(current, updated));
+        return true;
+    }
+
+    /**
+     * Gets a consistent read-only view of the current tree
+     * Time Complexity: O(1)
+     * @return Snapshot of the current version
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(root.get());
+    }
+
+    /**
+     * Gets the number of tasks in the current version
+     * @return Number of tasks
+     */
+    public int size() {
+        return size(root.get());
+    }
+
+    /**
+     * Recursive helper method for inserting a node by path copying
+     * @param node Current node in recursion
+     * @param added Leaf node to insert
+     * @return Root of the new version of this subtree
+     */
+    private static Node insertRecursive(Node node, Node added) {
+        if (node == null) return added;
+        if (compare(added.due, added.task, added.seq, node) < 0) {
+            return balance(node, insertRecursive(node.left, added), node.right);
+        }
+        return balance(node, node.left, insertRecursive(node.right, added));
+    }
+
+    /**
+     * Recursive helper method for removing a node by path copying
+     * @param node Current node in recursion
+     * Entries with equal name and due date differ only by insertion order,
+     * so when the ID does not match, both sides of the node are searched
+     * @param task Task name to remove
+     * @param due Due date in epoch milliseconds
+     * @param id Task ID to match, ignored when anyId is true
+     * @param anyId true to remove any entry with the name and due date
+     * @return Root of the new version of this subtree, or node itself if nothing was removed
+     */
+    private static Node removeRecursive(Node node, String task, long due, int id, boolean anyId) {
+        if (node == null) return null;
+        int cmp = node.due != due ? (due < node.due ? -1 : 1) : task.compareTo(node.task);
+        if (cmp == 0 && !anyId && node.item.id != id) {
+            Node left = removeRecursive(node.left, task, due, id, false);
+            if (left != node.left) return balance(node, left, node.right);
+            Node right = removeRecursive(node.right, task, due, id, false);
+            return right == node.right ? node : balance(node, node.left, right);
+        }
+        if (cmp < 0) {
+            Node left = removeRecursive(node.left, task, due, id, anyId);
+            return left == node.left ? node : balance(node, left, node.right);
+        }
+        if (cmp > 0) {
+            Node right = removeRecursive(node.right, task, due, id, anyId);
+            return right == node.right ? node : balance(node, node.left, right);
+        }
+        if (node.left == null) return node.right;
+        if (node.right == null) return node.left;
+        Node successor = node.right;
+        while (successor.left != null) successor = successor.left;
+        return balance(successor, node.left, removeMin(node.right));
+    }
+
+    /**
+     * Copies a subtree without its minimum node
+     * @param node Root of the subtree
+     * @return Root of the new version of the subtree
+     */
+    private static Node removeMin(Node node) {
+        if (node.left == null) return node.right;
+        return balance(node, removeMin(node.left), node.right);
+    }
+
+    /**
+     * Builds a copy of a node with new children, rotating to restore AVL balance
+     * @param node Node whose entry becomes the subtree root before rotation
+     * @param left New left subtree
+     * @param right New right subtree
+     * @return Root of the balanced subtree
+     */
+    private static Node balance(Node node, Node left, Node right) {
+        if (height(left) > height(right) + 1) {
+            if (height(left.left) >= height(left.right)) {
+                return left.with(left.left, node.with(left.right, right));
+            }
+            Node pivot = left.right;
+            return pivot.with(left.with(left.left, pivot.left), node.with(pivot.right, right));
+        }
+        if (height(right) > height(left) + 1) {
+            if (height(right.right) >= height(right.left)) {
+                return right.with(node.with(left, right.left), right.right);
+            }
+            Node pivot = right.left;
+            return pivot.with(node.with(left, pivot.left), right.with(pivot.right, right.right));
+        }
+        return node.with(left, right);
+    }
+
+    /**
+     * Compares a composite key against a node's key
+     * @return Negative, zero or positive as the key sorts before, equal to or after the node
+     */
+    private static int compare(long due, String task, long seq, Node node) {
+        if (due != node.due) return due < node.due ? -1 : 1;
+        int byName = task.compareTo(node.task);
+        if (byName != 0) return byName;
+        return Long.compare(seq, node.seq);
+    }
+
+    /**
+     * Gets the height of a subtree
+     * @param node Root of the subtree, may be null
+     * @return Height of the subtree, 0 for an empty subtree
+     */
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Gets the number of nodes in a subtree
+     * @param node Root of the subtree, may be null
+     * @return Number of nodes, 0 for an empty subtree
+     */
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Main method for testing the PersistentBTree implementation
+     */
+    public static void main(String[] args) throws InterruptedException {
+        PersistentBTree tree = new PersistentBTree();
+        long start = new Date(2025 - 1900, 0, 1).getTime();
+        for (int i = 0; i < 1000; i++) {
+            Task task = new Task(i, "Task " + i, 1);
+            task.setDueDate(new Date(start + i * 60_000L));
+            tree.insert(task);
+        }
+
+        // A report holds a snapshot while a writer keeps editing the tree
+        Snapshot report = tree.snapshot();
+        Task first = new Task(0, "Task 0", 1);
+        first.setDueDate(new Date(start));
+        Thread writer = new Thread(() -> {
+            for (int i = 1000; i < 101_000; i++) {
+                Task task = new Task(i, "Task " + i, 1);
+                task.setDueDate(new Date(start + i * 60_000L));
+                tree.insert(task);
+            }
+            tree.remove(first);
+            first.setName("Renamed");  // Edits to the task object never reach the snapshot
+        });
+        writer.start();
+        int[] visited = {0};
+        report.forEachInOrder((task, dueDate) -> visited[0]++);
+        writer.join();
+
+        System.out.println("Snapshot size: " + report.size() + ", visited: " + visited[0]);
+        System.out.println("Current size: " + tree.size());
+        System.out.println("First task due in snapshot: "
+            + report.range(new Date(start), new Date(start)).get(0).getName()
+            + ", in current version: " + tree.snapshot().range(new Date(start), new Date(start)).size());
+    }
+}
@@ -0,0 +1,381 @@
+package managers;
+
+import data_structures.CsrAdjacency;
+import data_structures.Graph;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+
+/**
+ * Critical path and slack analysis over the task dependency graph
+ * Every task has a duration (one day unless set) and an optional due date.
+ * The analyzer keeps, for each task:
+ * - earliest start: the latest earliest finish of its prerequisites (or the project start)
+ * - latest finish: the earliest of its own due date and the latest starts of its dependents
+ * - slack: latest finish minus earliest finish; negative slack means a due date will be missed
+ * Tasks with no due date anywhere downstream have unbounded slack.
+ * Due dates are read through a lookup supplied by the task owner (tasks are
+ * matched to the graph by name), who reports each change with dueDateChanged.
+ * When a dependency, due date or duration changes, only the tasks whose values
+ * actually change are recomputed, each once, in topological order.
+ * Changes take the GraphManager's write lock and queries share its read lock,
+ * so they are safe to call from any thread and always see a consistent graph.
+ * GraphManager initializes the values of new tasks as it adds them, so queries
+ * never have to change anything.
+ */
+public class CriticalPathAnalyzer {
+    /** Duration given to tasks whose duration was never set: one day */
+    public static final long DEFAULT_DURATION = 24L * 60 * 60 * 1000;
+    /** Marks an unbounded latest finish or slack */
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final GraphManager graphManager;
+    private long projectStart;   // Earliest time any task can start, epoch milliseconds
+    private long[] earliestStart = new long[0];
+    private long[] latestFinish = new long[0];
+    private long[] duration = new long[0];
+    private long[] dueDate = new long[0];   // UNBOUNDED when the task has no due date
+    private int tracked;  // Number of vertices with initialized values
+    private Function<String, Date> dueDateOf = task -> null;
+
+    private final TopologicalQueue forwardQueue;   // Tasks whose earliest start may have changed
+    private final TopologicalQueue backwardQueue;  // Tasks whose latest finish may have changed
+
+    /**
+     * Creates an analyzer for a dependency graph
+     * @param graphManager Source of the task dependencies and topological order
+     * @param projectStart Earliest date any task can start
+     */
+    public CriticalPathAnalyzer(GraphManager graphManager, Date projectStart) {
+        this.graphManager = graphManager;
+        this.projectStart = projectStart.getTime();
+        this.forwardQueue = new TopologicalQueue(graphManager, false);
+        this.backwardQueue = new TopologicalQueue(graphManager, true);
+    }
+
+    /**
+     * Sets the earliest date any task can start and recomputes every task
+     * Time Complexity: O(V + E)
+     * @param start New project start date
+     */
+    public void setProjectStart(Date start) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            projectStart = start.getTime();
+            for (int v = 0; v < tracked; v++) forwardQueue.add(v);
+            propagateForward();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Connects the analyzer to the owner of the tasks
+     * Every task's due date is re-read from the new lookup
+     * Time Complexity: O(V + E)
+     * @param dueDateOf Gives a task's due date by name, null if it has none
+     */
+    public void attach(Function<String, Date> dueDateOf) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            this.dueDateOf = dueDateOf;
+            for (int v = 0; v < tracked; v++) {
+                if (!graph().isRemoved(v)) changeDueDate(v, dueDateOf.apply(graph().nameOf(v)));
+            }
+            propagateBackward();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Re-reads a task's due date from the attached lookup after it changed
+     * Does nothing for tasks that are not in the dependency graph; their due
+     * date is read when they are added to it
+     * @param task Task name
+     */
+    public void dueDateChanged(String task) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            if (v == -1) return;
+            changeDueDate(v, dueDateOf.apply(task));
+            propagateBackward();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets or clears a task's due date
+     * Overrides the attached lookup until the task's owner reports the next change
+     * Only the task and the prerequisites whose latest finish changes are recomputed
+     * @param task Task name
+     * @param due New due date, or null to remove it
+     */
+    public void setDueDate(String task, Date due) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            int v = graphManager.internTask(task);
+            changeDueDate(v, due);
+            propagateBackward();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sets how long a task takes
+     * Recomputes the dependents whose earliest start and the prerequisites whose latest finish change
+     * @param task Task name
+     * @param millis Duration in milliseconds
+     */
+    public void setDuration(String task, long millis) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            int v = graphManager.internTask(task);
+            if (duration[v] == millis) return;
+            duration[v] = millis;
+            enqueueSuccessors(v);
+            propagateForward();
+            enqueuePredecessors(v);
+            propagateBackward();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the analysis after a dependency edge is added or removed
+     * Called by GraphManager, under its write lock, once the graph and topological order are up to date
+     * @param from Vertex ID of the prerequisite
+     * @param to Vertex ID of the dependent task
+     */
+    void edgeChanged(int from, int to) {
+        forwardQueue.add(to);
+        propagateForward();
+        backwardQueue.add(from);
+        propagateBackward();
+    }
+
+    /**
+     * Gets the earliest time a task can start
+     * @param task Task name
+     * @return Earliest start date, or null if the task is unknown
+     */
+    public Date getEarliestStart(String task) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            return v == -1 ? null : new Date(earliestStart[v]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the latest time a task can finish without making any due date slip
+     * @param task Task name
+     * @return Latest finish date, or null if the task is unknown or has no due date downstream
+     */
+    public Date getLatestFinish(String task) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            return v == -1 || latestFinish[v] == UNBOUNDED ? null : new Date(latestFinish[v]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets how long a task can slip without making any due date slip
+     * @param task Task name
+     * @return Slack in milliseconds (negative if a due date is already unreachable),
+     *         or UNBOUNDED if the task is unknown or has no due date downstream
+     */
+    public long getSlack(String task) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            return v == -1 ? UNBOUNDED : slack(v);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the chain of tasks that determines when the whole project finishes
+     * Starts from the task with the latest earliest finish and follows, backwards,
+     * the prerequisite that finishes exactly when the current task can start
+     * Time Complexity: O(V + edges along the path)
+     * @return Task names on the critical path, first task first; empty if there are no tasks
+     */
+    public List<String> getCriticalPath() {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            LinkedList<String> path = new LinkedList<>();
+            int end = -1;
+            for (int v = 0; v < tracked; v++) {
+                if (graph().isRemoved(v)) continue;
+                if (end == -1 || finish(v) > finish(end)) end = v;
+            }
+            CsrAdjacency predecessors = graph().getPredecessors();
+            for (int v = end; v != -1; ) {
+                path.addFirst(graph().nameOf(v));
+                int binding = -1;
+                for (int h = predecessors.first(v); h != CsrAdjacency.END; h = predecessors.next(v, h)) {
+                    int p = predecessors.target(h);
+                    if (finish(p) == earliestStart[v]) {
+                        binding = p;
+                        break;
+                    }
+                }
+                v = binding;
+            }
+            return path;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the dependency graph being analyzed
+     * @return The graph
+     */
+    private Graph graph() {
+        return graphManager.getDependencyGraph();
+    }
+
+    /**
+     * Initializes values for tasks added to the graph since the last call
+     * A new task starts at the project start; its due date comes from the lookup.
+     * Called by GraphManager, under its write lock, whenever tasks are added to the graph
+     */
+    void track() {
+        int vertices = graph().vertexCount();
+        if (vertices <= tracked) return;
+        if (vertices > earliestStart.length) {
+            int capacity = Math.max(vertices, earliestStart.length * 2);
+            earliestStart = Arrays.copyOf(earliestStart, capacity);
+            latestFinish = Arrays.copyOf(latestFinish, capacity);
+            duration = Arrays.copyOf(duration, capacity);
+            dueDate = Arrays.copyOf(dueDate, capacity);
+        }
+        for (; tracked < vertices; tracked++) {
+            earliestStart[tracked] = projectStart;
+            latestFinish[tracked] = UNBOUNDED;
+            duration[tracked] = DEFAULT_DURATION;
+            dueDate[tracked] = UNBOUNDED;
+            if (!graph().isRemoved(tracked)) changeDueDate(tracked, dueDateOf.apply(graph().nameOf(tracked)));
+        }
+        propagateBackward();
+    }
+
+    /**
+     * Stores a task's due date and queues it for backward recomputation if it changed
+     * @param v Vertex ID
+     * @param due New due date, or null for none
+     */
+    private void changeDueDate(int v, Date due) {
+        long value = due == null ? UNBOUNDED : due.getTime();
+        if (dueDate[v] == value) return;
+        dueDate[v] = value;
+        backwardQueue.add(v);
+    }
+
+    /**
+     * Gets a task's earliest finish
+     * @param v Vertex ID
+     * @return Earliest start plus duration
+     */
+    private long finish(int v) {
+        return earliestStart[v] + duration[v];
+    }
+
+    /**
+     * Gets a task's latest start
+     * @param v Vertex ID
+     * @return Latest finish minus duration, or UNBOUNDED
+     */
+    private long latestStart(int v) {
+        return latestFinish[v] == UNBOUNDED ? UNBOUNDED : latestFinish[v] - duration[v];
+    }
+
+    /**
+     * Gets a task's slack
+     * @param v Vertex ID
+     * @return Latest finish minus earliest finish, or UNBOUNDED
+     */
+    private long slack(int v) {
+        return latestFinish[v] == UNBOUNDED ? UNBOUNDED : latestFinish[v] - finish(v);
+    }
+
+    /**
+     * Recomputes earliest starts in increasing topological order
+     * A task's dependents are queued only when its earliest start changed
+     */
+    private void propagateForward() {
+        Graph graph = graph();
+        CsrAdjacency predecessors = graph.getPredecessors();
+        while (!forwardQueue.isEmpty()) {
+            int v = forwardQueue.poll();
+            long start = projectStart;
+            for (int h = predecessors.first(v); h != CsrAdjacency.END; h = predecessors.next(v, h)) {
+                start = Math.max(start, finish(predecessors.target(h)));
+            }
+            if (start == earliestStart[v]) continue;
+            earliestStart[v] = start;
+            enqueueSuccessors(v);
+        }
+    }
+
+    /**
+     * Recomputes latest finishes in decreasing topological order
+     * A task's prerequisites are queued only when its latest finish changed
+     */
+    private void propagateBackward() {
+        CsrAdjacency successors = graph().getSuccessors();
+        while (!backwardQueue.isEmpty()) {
+            int v = backwardQueue.poll();
+            long finish = dueDate[v];
+            for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                finish = Math.min(finish, latestStart(successors.target(h)));
+            }
+            if (finish == latestFinish[v]) continue;
+            latestFinish[v] = finish;
+            enqueuePredecessors(v);
+        }
+    }
+
+    /**
+     * Queues the dependents of a task for forward recomputation
+     * @param v Vertex ID
+     */
+    private void enqueueSuccessors(int v) {
+        CsrAdjacency successors = graph().getSuccessors();
+        for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+            forwardQueue.add(successors.target(h));
+        }
+    }
+
+    /**
+     * Queues the prerequisites of a task for backward recomputation
+     * @param v Vertex ID
+     */
+    private void enqueuePredecessors(int v) {
+        CsrAdjacency predecessors = graph().getPredecessors();
+        for (int h = predecessors.first(v); h != CsrAdjacency.END; h = predecessors.next(v, h)) {
+            backwardQueue.add(predecessors.target(h));
+        }
+    }
+}
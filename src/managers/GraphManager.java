@@ -1,16 +1,56 @@
 package managers;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import data_structures.CsrAdjacency;
 import data_structures.Graph;
 
 /**
  * Manages task dependencies using a directed graph structure
  * Provides functionality for adding dependencies, detecting cycles,
- * and traversing dependency relationships between tasks
+ * and traversing dependency relationships between tasks.
+ * A topological order of all tasks is maintained incrementally, so a
+ * dependency that would close a cycle is rejected when it is added.
+ * Thread-safe: edits take a write lock and queries share a read lock, so
+ * readers run concurrently with each other. Everything a query would otherwise
+ * compute lazily (new tasks' analysis entries, the reachability closure after
+ * an edge removal) is brought up to date under the write lock, and searches
+ * use per-thread scratch buffers. Whole-graph reads (adjacency lists,
+ * traversals, cycle groups, task execution) work on an immutable snapshot
+ * that is rebuilt only after the graph changes and is never blocked by writers.
  */
 public class GraphManager {
+    /** Graphs with fewer tasks than this are analyzed on the calling thread */
+    private static final int PARALLEL_THRESHOLD = 10_000;
+
     /** Graph structure to store task dependencies */
     private Graph dependencyGraph;
+    /** Position of each task in the topological order, indexed by vertex ID */
+    private int[] ord;
+    /** Vertex ID at each position of the topological order */
+    private int[] order;
+    /** Number of tasks placed in the topological order */
+    private int ordered;
+    /** Visit stamps for the reordering search, compared against epoch */
+    private int[] mark;
+    /** Stamp of the current reordering search */
+    private int epoch;
+    /** Reusable work list for the reordering search */
+    private int[] work;
+    /** Transitive dependency index used for cycle checks and dependsOn queries */
+    private ReachabilityIndex reachability;
+    /** Earliest start, latest finish and slack of every task, kept up to date on each edit */
+    private CriticalPathAnalyzer schedule;
+    /** Effective priority of every task, inherited from the tasks that depend on it */
+    private PriorityInheritance priorities;
+    /** Guards the graph, the topological order and the analyses built on them */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    /** Search buffers of each thread, reused by every query it runs */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
 
     /**
      * Constructs a new GraphManager
@@ -18,65 +58,889 @@ public class GraphManager {
      */
     public GraphManager() {
         dependencyGraph = new Graph();
+        ord = new int[16];
+        order = new int[16];
+        mark = new int[16];
+        work = new int[16];
+        reachability = new ReachabilityIndex(this);
+        schedule = new CriticalPathAnalyzer(this, new Date());
+        priorities = new PriorityInheritance(this);
     }
 
     /**
      * Adds a dependency relationship between two tasks
      * Task 'task' depends on the completion of task 'dependsOn'
+     * The dependency is rejected if 'dependsOn' already (transitively) depends on
+     * 'task', since adding it would create a cycle. The check is a lookup in the
+     * reachability index, and updating the topological order only touches tasks
+     * positioned between the two tasks.
      * @param task The dependent task
      * @param dependsOn The task that must be completed first
+     * @return true if the dependency was added or already existed, false if it would create a cycle
+     */
+    public boolean addDependency(String task, String dependsOn) {
+        lock.writeLock().lock();
+        try {
+            int from = dependencyGraph.intern(dependsOn);
+            int to = dependencyGraph.intern(task);
+            extendOrder();
+            reachability.refresh();
+            if (from == to || reachability.reaches(to, from)) return false;
+            if (ord[from] > ord[to] && !reorder(from, to)) return false;
+            if (!dependencyGraph.addEdge(from, to)) return true;
+            reachability.edgeAdded(from, to);
+            schedule.edgeChanged(from, to);
+            priorities.edgeChanged(from);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a dependency relationship between two tasks
+     * The topological order stays valid, so only the reachability index
+     * (rebuilt by the next query or edit) and the affected schedule entries are updated
+     * @param task The dependent task
+     * @param dependsOn The task it no longer depends on
+     * @return true if the dependency was removed, false if it did not exist
+     */
+    public boolean removeDependency(String task, String dependsOn) {
+        lock.writeLock().lock();
+        try {
+            int from = dependencyGraph.idOf(dependsOn);
+            int to = dependencyGraph.idOf(task);
+            if (from == -1 || to == -1 || !dependencyGraph.removeEdge(from, to)) return false;
+            reachability.invalidate();
+            schedule.edgeChanged(from, to);
+            priorities.edgeChanged(from);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a task and all of its dependencies, e.g. after the task was undone or renamed
+     * @param task The task to remove
+     * @return true if the task was removed, false if it is not in the graph
+     */
+    public boolean removeTask(String task) {
+        lock.writeLock().lock();
+        try {
+            int v = dependencyGraph.idOf(task);
+            if (v == -1) return false;
+            List<String> prerequisites = getPrerequisites(task);
+            List<String> dependents = getDependents(task);
+            for (String prerequisite : prerequisites) removeDependency(task, prerequisite);
+            for (String dependent : dependents) removeDependency(dependent, task);
+            return dependencyGraph.removeVertex(task);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Checks whether a task directly or transitively depends on another task
+     * Time Complexity: O(1) for graphs within the reachability index's closure limit
+     * @param task The dependent task
+     * @param prerequisite The task that may need to be completed first
+     * @return true if 'task' cannot start before 'prerequisite' is completed
+     */
+    public boolean dependsOn(String task, String prerequisite) {
+        Lock read = lockForQuery();
+        try {
+            int to = dependencyGraph.idOf(task);
+            int from = dependencyGraph.idOf(prerequisite);
+            return from != -1 && to != -1 && reachability.reaches(from, to);
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Takes the read lock with the reachability index up to date
+     * If edges were removed since the index was last built, it is rebuilt under
+     * the write lock first, which is then downgraded to the read lock so no
+     * writer can get in between. Must not be called while holding only the read lock.
+     * @return The read lock, held by the caller
+     */
+    private Lock lockForQuery() {
+        Lock read = lock.readLock();
+        read.lock();
+        if (!reachability.isStale()) return read;
+        read.unlock();
+        lock.writeLock().lock();
+        try {
+            reachability.refresh();
+            read.lock();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return read;
+    }
+
+    /**
+     * Gets a task's ID, adding the task to the graph and the topological order if needed
+     * The caller must hold the write lock
+     * @param task Task name
+     * @return Vertex ID of the task
+     */
+    int internTask(String task) {
+        int v = dependencyGraph.intern(task);
+        extendOrder();
+        return v;
+    }
+
+    /**
+     * Gets a task's position in the current topological order
+     * Every prerequisite of a task has a smaller position than the task itself
+     * @param v Vertex ID
+     * @return Position in the order
+     */
+    int positionOf(int v) {
+        return ord[v];
+    }
+
+    /**
+     * Gets the task at a position of the current topological order
+     * @param position Position in the order, from 0 to the number of tasks - 1
+     * @return Vertex ID
+     */
+    int vertexAt(int position) {
+        return order[position];
+    }
+
+    /**
+     * Gets the lock that serializes edits to the graph
+     * Used by the analyses that keep per-task state alongside the graph
+     * @return The write lock, reentrant
+     */
+    Lock writeLock() {
+        return lock.writeLock();
+    }
+
+    /**
+     * Gets the lock shared by queries of the graph and its analyses
+     * Holders may read but not change any state guarded by the write lock
+     * @return The read lock, reentrant
+     */
+    Lock readLock() {
+        return lock.readLock();
+    }
+
+    /**
+     * Gets an immutable snapshot of the dependency graph
+     * Readers can traverse the snapshot on any thread while writers keep editing
+     * Time Complexity: O(1) if the graph is unchanged since the last snapshot, O(V + E) otherwise
+     * @return Snapshot of the current graph
+     */
+    public Graph.Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            return dependencyGraph.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the priority inheritance analysis of the dependency graph
+     * Updated incrementally whenever a dependency is added or removed
+     * @return The effective priority tracker
+     */
+    public PriorityInheritance getPriorities() {
+        return priorities;
+    }
+
+    /**
+     * Gets the critical path analysis of the dependency graph
+     * Updated incrementally whenever a dependency is added or removed
+     * @return The schedule analyzer
+     */
+    public CriticalPathAnalyzer getSchedule() {
+        return schedule;
+    }
+
+    /**
+     * Appends newly interned tasks to the end of the topological order
+     * A task without dependencies can go anywhere, so the end is always valid.
+     * The analyses set up their entries for the new tasks here, on the write
+     * path, so queries never have to.
+     */
+    private void extendOrder() {
+        int vertices = dependencyGraph.vertexCount();
+        if (vertices > ord.length) {
+            int capacity = Math.max(vertices, ord.length * 2);
+            ord = Arrays.copyOf(ord, capacity);
+            order = Arrays.copyOf(order, capacity);
+            mark = Arrays.copyOf(mark, capacity);
+            work = Arrays.copyOf(work, capacity);
+        }
+        for (; ordered < vertices; ordered++) {
+            ord[ordered] = ordered;
+            order[ordered] = ordered;
+        }
+        reachability.grow();
+        schedule.track();
+        priorities.track();
+    }
+
+    /**
+     * Restores the topological order before adding an edge that points backwards in it
+     * Searches forward from the edge's target through tasks positioned no later
+     * than its source (Marchetti-Spaccamela et al.). Reaching the source means the
+     * edge would close a cycle. Otherwise the tasks found are moved, in their
+     * existing relative order, after the other tasks of the affected window.
+     * Time Complexity: O(window size + edges leaving the tasks found)
+     * @param from Source vertex ID of the new edge
+     * @param to Target vertex ID of the new edge
+     * @return true if the order was updated, false if the edge would create a cycle
+     */
+    private boolean reorder(int from, int to) {
+        int lower = ord[to];
+        int upper = ord[from];
+        CsrAdjacency successors = dependencyGraph.getSuccessors();
+        epoch++;
+        int top = 0;
+        work[top++] = to;
+        mark[to] = epoch;
+        while (top > 0) {
+            int node = work[--top];
+            for (int h = successors.first(node); h != CsrAdjacency.END; h = successors.next(node, h)) {
+                int next = successors.target(h);
+                if (next == from) return false;
+                if (ord[next] < upper && mark[next] != epoch) {
+                    mark[next] = epoch;
+                    work[top++] = next;
+                }
+            }
+        }
+
+        // Unmarked tasks keep their relative order at the front of the window,
+        // marked tasks (everything reachable from 'to') follow in theirs
+        int write = lower;
+        int found = 0;
+        for (int pos = lower; pos <= upper; pos++) {
+            int node = order[pos];
+            if (mark[node] == epoch) work[found++] = node;
+            else order[write++] = node;
+        }
+        System.arraycopy(work, 0, order, write, found);
+        for (int pos = lower; pos <= upper; pos++) {
+            ord[order[pos]] = pos;
+        }
+        return true;
+    }
+
+    /**
+     * Gets all tasks in an order where every task comes after the tasks it depends on
+     * Time Complexity: O(V)
+     * @return Task names in topological order
      */
-    public void addDependency(String task, String dependsOn) {
-        dependencyGraph.addEdge(dependsOn, task);
+    public List<String> getTopologicalOrder() {
+        lock.readLock().lock();
+        try {
+            List<String> result = new ArrayList<>(ordered);
+            for (int pos = 0; pos < ordered; pos++) {
+                if (!dependencyGraph.isRemoved(order[pos])) result.add(dependencyGraph.nameOf(order[pos]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * Prints all dependencies for a given task using depth-first search
+     * Traverses the current snapshot, so writers are not blocked while it prints
      * @param task The task whose dependencies should be displayed
      */
     public void printDependencies(String task) {
+        Graph.Snapshot graph = snapshot();
         System.out.println("Dependencies for: " + task);
-        dependencyGraph.dfs(task);
+        int source = graph.idOf(task);
+        if (source == -1) System.out.println(task);
+        else dfs(graph, source, v -> System.out.println(graph.nameOf(v)));
+    }
+
+    /**
+     * Gets the tasks that a task directly depends on
+     * Time Complexity: O(in-degree)
+     * @param task The dependent task
+     * @return Names of the task's direct prerequisites
+     */
+    public List<String> getPrerequisites(String task) {
+        lock.readLock().lock();
+        try {
+            return neighbors(task, dependencyGraph.getPredecessors());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets the tasks that directly depend on a task
+     * Time Complexity: O(out-degree)
+     * @param task The prerequisite task
+     * @return Names of the tasks blocked by this task
+     */
+    public List<String> getDependents(String task) {
+        lock.readLock().lock();
+        try {
+            return neighbors(task, dependencyGraph.getSuccessors());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Helper method that lists a task's neighbors in one direction
+     * @param task Task name
+     * @param adjacency Adjacency to read from
+     * @return Names of the neighboring tasks, empty if the task is unknown
+     */
+    private List<String> neighbors(String task, CsrAdjacency adjacency) {
+        int v = dependencyGraph.idOf(task);
+        if (v == -1) return new ArrayList<>();
+        List<String> result = new ArrayList<>(adjacency.degree(v));
+        for (int h = adjacency.first(v); h != CsrAdjacency.END; h = adjacency.next(v, h)) {
+            result.add(dependencyGraph.nameOf(adjacency.target(h)));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the tasks whose prerequisites are all satisfied (Kahn's ready set)
+     * Reads the cached in-degree of every task
+     * Time Complexity: O(V)
+     * @return Names of tasks that do not depend on any other task
+     */
+    public List<String> getReadyTasks() {
+        lock.readLock().lock();
+        try {
+            List<String> ready = new ArrayList<>();
+            for (int v = 0; v < dependencyGraph.vertexCount(); v++) {
+                if (dependencyGraph.inDegree(v) == 0 && !dependencyGraph.isRemoved(v)) {
+                    ready.add(dependencyGraph.nameOf(v));
+                }
+            }
+            return ready;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the shortest chain of dependencies leading from one task to another
+     * Explains why a task is blocked: each task in the chain depends directly on
+     * the one before it. Runs a bidirectional breadth-first search, forward over
+     * dependents and backward over prerequisites, always expanding the smaller
+     * frontier. Tasks outside the topological order window between the two tasks
+     * cannot lie on the chain and are never visited, and unrelated pairs are
+     * rejected up front by the order and the reachability index.
+     * Time Complexity: O(tasks visited + their edges), typically far below O(V + E)
+     * @param from The prerequisite task at the start of the chain
+     * @param to The blocked task at the end of the chain
+     * @return Task names from 'from' to 'to'; empty if 'to' does not depend on 'from'
+     */
+    public List<String> shortestPath(String from, String to) {
+        Lock read = lockForQuery();
+        try {
+            int source = dependencyGraph.idOf(from);
+            int target = dependencyGraph.idOf(to);
+            List<String> path = new ArrayList<>();
+            if (source == -1 || target == -1) return path;
+            if (source == target) {
+                path.add(from);
+                return path;
+            }
+            if (ord[source] > ord[target] || !reachability.reaches(source, target)) return path;
+
+            Scratch scratch = SCRATCH.get();
+            int meet = meet(source, target, scratch);
+            if (meet == -1) return path;
+            for (int v = meet; v != -1; v = scratch.forward.parent[v]) path.add(dependencyGraph.nameOf(v));
+            Collections.reverse(path);
+            for (int v = scratch.backward.parent[meet]; v != -1; v = scratch.backward.parent[v]) {
+                path.add(dependencyGraph.nameOf(v));
+            }
+            return path;
+        } finally {
+            read.unlock();
+        }
+    }
+
+    /**
+     * Runs the two searches toward each other, one whole level at a time
+     * A level can contain several meeting tasks, so the whole level is expanded
+     * and the meeting task with the shortest total distance is kept.
+     * @param source Vertex ID of the prerequisite
+     * @param target Vertex ID of the dependent task
+     * @param scratch The calling thread's search buffers
+     * @return Vertex ID where the two searches meet, or -1 if they never do
+     */
+    private int meet(int source, int target, Scratch scratch) {
+        int stamp = scratch.begin(dependencyGraph.vertexCount());
+        PathSide forward = scratch.forward;
+        PathSide backward = scratch.backward;
+        forward.start(source, stamp, dependencyGraph.vertexCount());
+        backward.start(target, stamp, dependencyGraph.vertexCount());
+        CsrAdjacency successors = dependencyGraph.getSuccessors();
+        CsrAdjacency predecessors = dependencyGraph.getPredecessors();
+        int lowest = ord[source], highest = ord[target];
+
+        while (forward.head < forward.tail && backward.head < backward.tail) {
+            boolean expandForward = forward.tail - forward.head <= backward.tail - backward.head;
+            PathSide side = expandForward ? forward : backward;
+            PathSide other = expandForward ? backward : forward;
+            CsrAdjacency edges = expandForward ? successors : predecessors;
+            int best = -1, bestLength = Integer.MAX_VALUE;
+            int levelEnd = side.tail;
+            while (side.head < levelEnd) {
+                int node = side.queue[side.head++];
+                for (int h = edges.first(node); h != CsrAdjacency.END; h = edges.next(node, h)) {
+                    int next = edges.target(h);
+                    if (ord[next] < lowest || ord[next] > highest || side.mark[next] == stamp) continue;
+                    side.visit(next, node, stamp);
+                    if (other.mark[next] == stamp && side.dist[next] + other.dist[next] < bestLength) {
+                        best = next;
+                        bestLength = side.dist[next] + other.dist[next];
+                    }
+                }
+            }
+            if (best != -1) return best;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets every task that directly or transitively depends on a task
+     * These are the tasks affected when the given task slips
+     * Traverses the current snapshot, so writers are not blocked
+     * Time Complexity: O(size of the affected region)
+     * @param task The prerequisite task
+     * @return Names of all downstream tasks, excluding the task itself
+     */
+    public List<String> getImpactedTasks(String task) {
+        Graph.Snapshot graph = snapshot();
+        int source = graph.idOf(task);
+        List<String> impacted = new ArrayList<>();
+        if (source == -1) return impacted;
+        dfs(graph, source, v -> {
+            if (v != source) impacted.add(graph.nameOf(v));
+        });
+        return impacted;
+    }
+
+    /**
+     * Depth-first search of a snapshot, reporting each vertex in pre-order
+     * Uses the calling thread's scratch buffers; the visitor must not start another search
+     * Time Complexity: O(vertices reached + their edges)
+     * @param graph Snapshot to traverse
+     * @param source Starting vertex ID
+     * @param visitor Callback receiving each vertex ID
+     */
+    private static void dfs(Graph.Snapshot graph, int source, IntConsumer visitor) {
+        CsrAdjacency successors = graph.getSuccessors();
+        Scratch scratch = SCRATCH.get();
+        int stamp = scratch.begin(graph.vertexCount());
+        int[] visited = scratch.visited;
+        int[] stackVertex = scratch.stackVertex;
+        int[] stackHandle = scratch.stackHandle;
+        int top = 0;
+        visited[source] = stamp;
+        visitor.accept(source);
+        stackVertex[top] = source;
+        stackHandle[top++] = successors.first(source);
+        while (top > 0) {
+            int node = stackVertex[top - 1];
+            int h = stackHandle[top - 1];
+            if (h == CsrAdjacency.END) {
+                top--;
+                continue;
+            }
+            stackHandle[top - 1] = successors.next(node, h);
+            int neighbor = successors.target(h);
+            if (visited[neighbor] != stamp) {
+                visited[neighbor] = stamp;
+                visitor.accept(neighbor);
+                stackVertex[top] = neighbor;
+                stackHandle[top++] = successors.first(neighbor);
+            }
+        }
     }
 
     /**
      * Detects circular dependencies starting from a specified task
-     * Uses depth-first search with a recursion stack to identify cycles
+     * Uses depth-first search with an explicit path stack to identify cycles
      * @param start The task to start checking from
      */
     public void detectCircularDependencies(String start) {
-        Set<String> visited = new HashSet<>();
-        Set<String> recursionStack = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            int source = dependencyGraph.idOf(start);
 
-        if (hasCycle(start, visited, recursionStack)) {
-            System.out.println("Cycle detected starting from task: " + start);
-        } else {
-            System.out.println("No cycles detected from task: " + start);
+            if (source != -1 && hasCycle(source)) {
+                System.out.println("Cycle detected starting from task: " + start);
+            } else {
+                System.out.println("No cycles detected from task: " + start);
+            }
+        } finally {
+            lock.readLock().unlock();
         }
     }
 
     /**
      * Helper method to detect cycles in the dependency graph
-     * Uses depth-first search with visited set and recursion stack
+     * Iterative depth-first search: each frame holds a task and its next edge
+     * handle, and a task is marked on-path while its frame is on the stack.
+     * Runs on the calling thread's reusable scratch buffers, so nothing is
+     * allocated per call and concurrent readers never share state.
      * Time Complexity: O(V + E) where V is number of tasks and E is number of dependencies
-     * @param node Current task being checked
-     * @param visited Set of all visited tasks
-     * @param stack Set of tasks in current recursion stack
-     * @return true if a cycle is detected, false otherwise
+     * @param source ID of the task to start checking from
+     * @return true if a cycle is reachable from the task, false otherwise
      */
-    private boolean hasCycle(String node, Set<String> visited, Set<String> stack) {
-        if (stack.contains(node)) return true;
-        if (visited.contains(node)) return false;
+    private boolean hasCycle(int source) {
+        Scratch scratch = SCRATCH.get();
+        int stamp = scratch.begin(dependencyGraph.vertexCount());
+        int[] visited = scratch.visited;
+        int[] finished = scratch.finished;
+        int[] stackVertex = scratch.stackVertex;
+        int[] stackHandle = scratch.stackHandle;
+        CsrAdjacency successors = dependencyGraph.getSuccessors();
+
+        int top = 0;
+        visited[source] = stamp;
+        stackVertex[top] = source;
+        stackHandle[top++] = successors.first(source);
+        while (top > 0) {
+            int node = stackVertex[top - 1];
+            int h = stackHandle[top - 1];
+            if (h == CsrAdjacency.END) {
+                finished[node] = stamp;
+                top--;
+                continue;
+            }
+            stackHandle[top - 1] = successors.next(node, h);
+            int neighbor = successors.target(h);
+            if (visited[neighbor] != stamp) {
+                visited[neighbor] = stamp;
+                stackVertex[top] = neighbor;
+                stackHandle[top++] = successors.first(neighbor);
+            } else if (finished[neighbor] != stamp) {
+                return true;  // Still on the current path
+            }
+        }
+        return false;
+    }
 
-        visited.add(node);
-        stack.add(node);
+    /**
+     * Per-thread buffers for graph searches
+     * Vertices are marked with the stamp of the current search instead of
+     * clearing the arrays, so starting a search is O(1) unless the graph grew.
+     * A thread runs one search at a time; a search must not start another.
+     */
+    static class Scratch {
+        int[] visited = new int[0];      // Stamp of the search that reached each vertex
+        int[] finished = new int[0];     // Stamp of the search that finished each vertex
+        int[] stackVertex = new int[0];  // Vertex of each depth-first stack frame
+        int[] stackHandle = new int[0];  // Next edge handle of each frame
+        int stamp;                       // Stamp of the current search
+        final PathSide forward = new PathSide();   // Shortest path search from the prerequisite
+        final PathSide backward = new PathSide();  // Shortest path search from the dependent task
 
-        for (String neighbor : dependencyGraph.getAdjList().getOrDefault(node, new ArrayList<>())) {
-            if (hasCycle(neighbor, visited, stack)) return true;
+        /**
+         * Gets the calling thread's buffers
+         * @return Scratch owned by the current thread
+         */
+        static Scratch forThread() {
+            return SCRATCH.get();
         }
 
-        stack.remove(node);
-        return false;
+        /**
+         * Starts a new search, growing the buffers to cover every vertex
+         * @param vertices Number of vertex IDs in the graph
+         * @return Stamp of the new search
+         */
+        int begin(int vertices) {
+            if (visited.length < vertices) {
+                int capacity = Math.max(vertices, visited.length * 2);
+                visited = Arrays.copyOf(visited, capacity);
+                finished = Arrays.copyOf(finished, capacity);
+                stackVertex = new int[capacity];
+                stackHandle = new int[capacity];
+            }
+            if (++stamp == 0) {
+                // Stamps wrapped around: clear old marks so none can match again
+                Arrays.fill(visited, 0);
+                Arrays.fill(finished, 0);
+                Arrays.fill(forward.mark, 0);
+                Arrays.fill(backward.mark, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+    }
+
+    /**
+     * Finds every group of tasks that depend on each other in a cycle
+     * Runs an iterative Tarjan strongly-connected-component search over the whole
+     * graph. Weakly connected components are independent, so on large graphs they
+     * are analyzed in parallel on the common ForkJoinPool. Works on a snapshot,
+     * so writers are not blocked while the search runs.
+     * Time Complexity: O(V + E)
+     * @return Each cycle group as a list of task names; empty if there are no cycles
+     */
+    public List<List<String>> findCycleGroups() {
+        Graph.Snapshot graph = snapshot();
+        int vertices = graph.vertexCount();
+        CsrAdjacency successors = graph.getSuccessors();
+        int[][] components = weakComponents(vertices, successors);
+
+        SccSearch search = new SccSearch(successors, vertices);
+        List<int[]> groups;
+        if (vertices < PARALLEL_THRESHOLD || components.length < 2) {
+            groups = new ArrayList<>();
+            for (int[] component : components) search.run(component, groups);
+        } else {
+            groups = ForkJoinPool.commonPool().invoke(new SccTask(search, components, 0, components.length));
+        }
+
+        List<List<String>> result = new ArrayList<>(groups.size());
+        for (int[] group : groups) {
+            List<String> names = new ArrayList<>(group.length);
+            for (int v : group) names.add(graph.nameOf(v));
+            result.add(names);
+        }
+        return result;
+    }
+
+    /**
+     * Splits the graph into weakly connected components using union-find
+     * Time Complexity: O(V + E) amortized
+     * @param vertices Number of vertices
+     * @param successors Outgoing adjacency of the graph
+     * @return Vertex IDs of each component
+     */
+    private static int[][] weakComponents(int vertices, CsrAdjacency successors) {
+        int[] parent = new int[vertices];
+        for (int v = 0; v < vertices; v++) parent[v] = v;
+        for (int v = 0; v < vertices; v++) {
+            for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                int a = find(parent, v), b = find(parent, successors.target(h));
+                if (a != b) parent[a] = b;
+            }
+        }
+
+        // Number the roots, then bucket vertices by component with a counting pass
+        int[] componentOf = new int[vertices];
+        int[] sizes = new int[vertices];
+        int count = 0;
+        for (int v = 0; v < vertices; v++) {
+            if (find(parent, v) == v) componentOf[v] = count++;
+        }
+        for (int v = 0; v < vertices; v++) {
+            componentOf[v] = componentOf[find(parent, v)];
+            sizes[componentOf[v]]++;
+        }
+        int[][] components = new int[count][];
+        for (int c = 0; c < count; c++) components[c] = new int[sizes[c]];
+        int[] filled = new int[count];
+        for (int v = 0; v < vertices; v++) {
+            int c = componentOf[v];
+            components[c][filled[c]++] = v;
+        }
+        return components;
+    }
+
+    /**
+     * Finds the union-find root of a vertex, halving the path on the way
+     * @param parent Parent links
+     * @param v Vertex ID
+     * @return Root vertex ID
+     */
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+
+    /**
+     * One direction of the bidirectional shortest path search
+     * Each thread's Scratch holds two; arrays are reused between searches and
+     * entries are valid only where mark equals the current epoch
+     */
+    private static class PathSide {
+        int[] mark = new int[0];    // Search stamp of each visited vertex
+        int[] parent = new int[0];  // Vertex this side reached each vertex from, -1 for the start
+        int[] dist = new int[0];    // Number of edges from this side's start
+        int[] queue = new int[0];   // Breadth-first queue of visited vertices
+        int head, tail;             // Unexpanded part of the queue
+
+        /**
+         * Resets the side to a new start vertex
+         * @param start Vertex ID the side searches from
+         * @param epoch Stamp of the new search
+         * @param vertices Number of vertex IDs in the graph
+         */
+        void start(int start, int epoch, int vertices) {
+            if (mark.length < vertices) {
+                int capacity = Math.max(vertices, mark.length * 2);
+                mark = Arrays.copyOf(mark, capacity);
+                parent = new int[capacity];
+                dist = new int[capacity];
+                queue = new int[capacity];
+            }
+            head = 0;
+            tail = 0;
+            mark[start] = epoch;
+            parent[start] = -1;
+            dist[start] = 0;
+            queue[tail++] = start;
+        }
+
+        /**
+         * Records a newly reached vertex and queues it for the next level
+         * @param v Vertex ID reached
+         * @param from Vertex ID it was reached from
+         * @param epoch Stamp of the current search
+         */
+        void visit(int v, int from, int epoch) {
+            mark[v] = epoch;
+            parent[v] = from;
+            dist[v] = dist[from] + 1;
+            queue[tail++] = v;
+        }
+    }
+
+    /**
+     * Iterative Tarjan strongly-connected-component search
+     * Per-vertex state lives in shared arrays; since components are disjoint,
+     * several threads can search different components at the same time.
+     */
+    private static class SccSearch {
+        private final CsrAdjacency successors;
+        private final int[] index;     // Discovery index of each vertex, -1 if unvisited
+        private final int[] low;       // Lowest index reachable from each vertex's subtree
+        private final boolean[] onStack;  // Whether each vertex is on the component stack
+
+        SccSearch(CsrAdjacency successors, int vertices) {
+            this.successors = successors;
+            this.index = new int[vertices];
+            this.low = new int[vertices];
+            this.onStack = new boolean[vertices];
+            Arrays.fill(index, -1);
+        }
+
+        /**
+         * Collects the cycle groups of one weakly connected component
+         * @param component Vertex IDs of the component
+         * @param groups List receiving groups of two or more tasks, or single self-dependent tasks
+         */
+        void run(int[] component, List<int[]> groups) {
+            int n = component.length;
+            int[] callVertex = new int[n];
+            int[] callHandle = new int[n];
+            int[] stack = new int[n];
+            int stackTop = 0;
+            int counter = 0;
+
+            for (int root : component) {
+                if (index[root] != -1) continue;
+                int depth = 0;
+                callVertex[depth] = root;
+                callHandle[depth++] = successors.first(root);
+                index[root] = low[root] = counter++;
+                stack[stackTop++] = root;
+                onStack[root] = true;
+
+                while (depth > 0) {
+                    int v = callVertex[depth - 1];
+                    int h = callHandle[depth - 1];
+                    if (h != CsrAdjacency.END) {
+                        callHandle[depth - 1] = successors.next(v, h);
+                        int w = successors.target(h);
+                        if (index[w] == -1) {
+                            callVertex[depth] = w;
+                            callHandle[depth++] = successors.first(w);
+                            index[w] = low[w] = counter++;
+                            stack[stackTop++] = w;
+                            onStack[w] = true;
+                        } else if (onStack[w]) {
+                            low[v] = Math.min(low[v], index[w]);
+                        }
+                        continue;
+                    }
+
+                    depth--;
+                    if (depth > 0) {
+                        int parent = callVertex[depth - 1];
+                        low[parent] = Math.min(low[parent], low[v]);
+                    }
+                    if (low[v] != index[v]) continue;
+
+                    // v is the root of a component: pop it off the stack
+                    int start = stackTop;
+                    do {
+                        onStack[stack[--start]] = false;
+                    } while (stack[start] != v);
+                    if (stackTop - start > 1 || hasSelfLoop(v)) {
+                        groups.add(Arrays.copyOfRange(stack, start, stackTop));
+                    }
+                    stackTop = start;
+                }
+            }
+        }
+
+        /**
+         * Checks whether a task depends directly on itself
+         * @param v Vertex ID
+         * @return true if v has an edge to itself
+         */
+        private boolean hasSelfLoop(int v) {
+            for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                if (successors.target(h) == v) return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Fork/join task that searches a range of weakly connected components
+     * Splits the range in half until it is small enough to run directly
+     */
+    @SuppressWarnings("serial")
+    private static class SccTask extends RecursiveTask<List<int[]>> {
+        private final SccSearch search;
+        private final int[][] components;
+        private final int from, to;
+
+        SccTask(SccSearch search, int[][] components, int from, int to) {
+            this.search = search;
+            this.components = components;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<int[]> compute() {
+            int vertices = 0;
+            for (int c = from; c < to && vertices < PARALLEL_THRESHOLD; c++) vertices += components[c].length;
+            if (to - from < 2 || vertices < PARALLEL_THRESHOLD) {
+                List<int[]> groups = new ArrayList<>();
+                for (int c = from; c < to; c++) search.run(components[c], groups);
+                return groups;
+            }
+            int mid = (from + to) >>> 1;
+            SccTask left = new SccTask(search, components, from, mid);
+            left.fork();
+            List<int[]> groups = new SccTask(search, components, mid, to).compute();
+            groups.addAll(left.join());
+            return groups;
+        }
     }
 
     /**
@@ -84,17 +948,29 @@ public class GraphManager {
      * Shows all tasks and their immediate dependencies
      */
     public void printAdjacencyList() {
-        Map<String, List<String>> adj = dependencyGraph.getAdjList();
+        Map<String, List<String>> adj = getAdjList();
         for (String key : adj.keySet()) {
             System.out.println(key + " -> " + adj.get(key));
         }
     }
 
+    /**
+     * Gets the underlying dependency graph for the other managers
+     * Edges point from a prerequisite to the task that depends on it.
+     * Callers must hold the write lock to change it or use its own traversal
+     * buffers, and at least the read lock to read it; other readers should use snapshot()
+     * @return The dependency graph
+     */
+    Graph getDependencyGraph() {
+        return dependencyGraph;
+    }
+
     /**
      * Gets the adjacency list representation of the dependency graph
-     * @return Map containing task dependencies
+     * Read from the current snapshot, so it never changes after it is returned
+     * @return Unmodifiable map containing task dependencies
      */
     public Map<String, List<String>> getAdjList() {
-        return dependencyGraph.getAdjList();
+        return snapshot().getAdjList();
     }
 }
@@ -0,0 +1,176 @@
+package managers;
+
+import data_structures.CsrAdjacency;
+import data_structures.Graph;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.function.ToIntFunction;
+
+/**
+ * Priority inheritance over the task dependency graph
+ * A task's effective priority is the highest of its own priority and the
+ * priorities of every task that directly or transitively depends on it, so a
+ * low-priority prerequisite of urgent work is scheduled as urgently as that work.
+ * Effective priorities are kept for every task in the graph and updated
+ * incrementally: after a change only the task and the prerequisites whose
+ * effective priority actually changes are recomputed, each once, in reverse
+ * topological order. Own priorities are read through a lookup supplied by the
+ * task owner (tasks are matched to the graph by name); a Listener is told about
+ * every change so priority queues can re-order the affected tasks.
+ * Changes take the GraphManager's write lock and queries share its read lock;
+ * GraphManager initializes the values of new tasks as it adds them.
+ */
+public class PriorityInheritance {
+    /**
+     * Receives effective priority changes
+     */
+    public interface Listener {
+        /**
+         * Called after the priority a task inherits from its dependents changed
+         * @param task Task name
+         * @param inheritedPriority New highest effective priority among the task's dependents
+         */
+        void inheritedPriorityChanged(String task, int inheritedPriority);
+    }
+
+    private final GraphManager graphManager;
+    private final TopologicalQueue queue;  // Tasks to recompute, latest topological position first
+    private int[] effective = new int[0];  // Own priority (highest among tasks with the name) or inherited, if higher
+    private int[] inherited = new int[0];  // Highest effective priority among each vertex's dependents
+    private int tracked;  // Number of vertices with initialized values
+    private ToIntFunction<String> ownPriority = task -> 0;
+    private Listener listener;
+
+    /**
+     * Creates the analysis for a dependency graph
+     * @param graphManager Source of the task dependencies and topological order
+     */
+    public PriorityInheritance(GraphManager graphManager) {
+        this.graphManager = graphManager;
+        this.queue = new TopologicalQueue(graphManager, true);
+    }
+
+    /**
+     * Connects the analysis to the owner of the tasks
+     * Every task's effective priority is recomputed from the new lookup
+     * Time Complexity: O(V + E)
+     * @param ownPriority Gives a task's own priority by name, 0 if no such task exists
+     * @param listener Notified of effective priority changes, may be null
+     */
+    public void attach(ToIntFunction<String> ownPriority, Listener listener) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            this.ownPriority = ownPriority;
+            this.listener = listener;
+            for (int v = 0; v < tracked; v++) queue.add(v);
+            propagate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes a task after its own priority changed, or after it was added or removed
+     * Does nothing for tasks that are not in the dependency graph, whose
+     * effective priority is simply their own
+     * Time Complexity: O(affected prerequisites * log) with their edges
+     * @param task Task name
+     */
+    public void priorityChanged(String task) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            if (v == -1) return;
+            queue.add(v);
+            propagate();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets a task's effective priority
+     * @param task Task name
+     * @param ownPriority The task's own priority
+     * @return Highest priority among the task and everything that depends on it
+     */
+    public int getEffectivePriority(String task, int ownPriority) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            int v = graph().idOf(task);
+            if (v == -1) return ownPriority;
+            return Math.max(ownPriority, inherited[v]);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Updates the analysis after a dependency edge is added or removed
+     * Only the prerequisite side can change: it gains or loses a dependent
+     * Called by GraphManager, under its write lock, once the graph is up to date
+     * @param from Vertex ID of the prerequisite
+     */
+    void edgeChanged(int from) {
+        queue.add(from);
+        propagate();
+    }
+
+    /**
+     * Gets the dependency graph being analyzed
+     * @return The graph
+     */
+    private Graph graph() {
+        return graphManager.getDependencyGraph();
+    }
+
+    /**
+     * Initializes values for tasks added to the graph since the last call
+     * A new task has no dependents yet, so it inherits nothing.
+     * Called by GraphManager, under its write lock, whenever tasks are added to the graph
+     */
+    void track() {
+        Graph graph = graph();
+        int vertices = graph.vertexCount();
+        if (vertices <= tracked) return;
+        if (vertices > effective.length) {
+            int capacity = Math.max(vertices, effective.length * 2);
+            effective = Arrays.copyOf(effective, capacity);
+            inherited = Arrays.copyOf(inherited, capacity);
+        }
+        for (; tracked < vertices; tracked++) {
+            effective[tracked] = ownPriority.applyAsInt(graph.nameOf(tracked));
+        }
+    }
+
+    /**
+     * Recomputes queued tasks in reverse topological order
+     * A task's prerequisites are queued only when its effective priority changed
+     */
+    private void propagate() {
+        Graph graph = graph();
+        CsrAdjacency successors = graph.getSuccessors();
+        CsrAdjacency predecessors = graph.getPredecessors();
+        while (!queue.isEmpty()) {
+            int v = queue.poll();
+            if (graph.isRemoved(v)) continue;
+            int fromDependents = 0;
+            for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                fromDependents = Math.max(fromDependents, effective[successors.target(h)]);
+            }
+            int priority = Math.max(ownPriority.applyAsInt(graph.nameOf(v)), fromDependents);
+            if (fromDependents != inherited[v]) {
+                inherited[v] = fromDependents;
+                if (listener != null) listener.inheritedPriorityChanged(graph.nameOf(v), fromDependents);
+            }
+            if (priority == effective[v]) continue;
+            effective[v] = priority;
+            for (int h = predecessors.first(v); h != CsrAdjacency.END; h = predecessors.next(v, h)) {
+                queue.add(predecessors.target(h));
+            }
+        }
+    }
+}
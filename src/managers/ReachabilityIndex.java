@@ -0,0 +1,222 @@
+package managers;
+
+import data_structures.CsrAdjacency;
+import data_structures.Graph;
+import java.util.Arrays;
+
+/**
+ * Answers "does task A transitively depend on task B" for the dependency graph
+ * Graphs of up to CLOSURE_LIMIT tasks keep the full transitive closure as one
+ * bitset row per task (the tasks it reaches), so a query is a single bit test.
+ * Rows are only as long as the highest task ID they contain, and tasks that
+ * reach nothing have no row at all. Adding an edge u -> v ORs v's row into u
+ * and every ancestor of u that did not already reach v (Italiano's algorithm);
+ * an ancestor that already reaches v is skipped along with its own ancestors.
+ * Removing an edge cannot be undone bit by bit, so it marks the closure stale
+ * and GraphManager rebuilds it in one pass over the topological order before
+ * the next query or edit that needs it.
+ * Larger graphs drop the closure and instead search only the tasks positioned
+ * before the target in the topological order, so any query whose target comes
+ * first in the order is answered in O(1).
+ * Not thread-safe on its own: GraphManager changes it under its write lock,
+ * and only calls reaches under the read lock once the closure is fresh; the
+ * searches then use per-thread buffers, so concurrent readers never share state.
+ */
+public class ReachabilityIndex {
+    /** Largest graph kept as a bitset closure: at most 8 MB of rows */
+    private static final int CLOSURE_LIMIT = 8192;
+
+    private final GraphManager graphManager;
+    /** Closure rows indexed by vertex ID; bit w of row v is set when v reaches w; null in search mode */
+    private long[][] rows = new long[16][];
+    /** Visit stamps for ancestor walks, compared against epoch */
+    private int[] mark = new int[16];
+    /** Stamp of the current walk */
+    private int epoch;
+    /** Reusable stack for ancestor walks */
+    private int[] work = new int[16];
+    /** Whether edges were removed since the closure was last built */
+    private boolean stale;
+
+    /**
+     * Creates an empty index for a dependency graph
+     * @param graphManager Source of the task dependencies and topological order
+     */
+    public ReachabilityIndex(GraphManager graphManager) {
+        this.graphManager = graphManager;
+    }
+
+    /**
+     * Checks whether one task reaches another through dependency edges
+     * Changes nothing, so readers may call it concurrently, but the closure must not be stale
+     * Time Complexity: O(1) with the closure; otherwise O(1) when 'to' comes before
+     * 'from' in the topological order and O(tasks between them + their edges) when not
+     * @param from Vertex ID of the starting task
+     * @param to Vertex ID of the task to reach
+     * @return true if there is a path of one or more edges from 'from' to 'to'
+     */
+    public boolean reaches(int from, int to) {
+        if (rows != null) return contains(rows[from], to);
+        if (graphManager.positionOf(to) <= graphManager.positionOf(from)) return false;
+        return search(from, to);
+    }
+
+    /**
+     * Updates the index after an edge has been added to the graph
+     * Time Complexity: O(A * V / 64) with the closure, where A is the number of
+     * ancestors of 'from' that did not already reach 'to'; O(1) otherwise
+     * @param from Source vertex ID of the new edge
+     * @param to Target vertex ID of the new edge
+     */
+    void edgeAdded(int from, int to) {
+        grow();
+        if (rows == null || stale || contains(rows[from], to)) return;
+
+        long[] reachedByTarget = rows[to];
+        CsrAdjacency predecessors = graph().getPredecessors();
+        epoch++;
+        int top = 0;
+        work[top++] = from;
+        mark[from] = epoch;
+        while (top > 0) {
+            int node = work[--top];
+            long[] row = include(node, to, reachedByTarget);
+            rows[node] = row;
+            for (int h = predecessors.first(node); h != CsrAdjacency.END; h = predecessors.next(node, h)) {
+                int ancestor = predecessors.target(h);
+                if (mark[ancestor] != epoch && !contains(rows[ancestor], to)) {
+                    mark[ancestor] = epoch;
+                    work[top++] = ancestor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the closure out of date after an edge was removed from the graph
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Checks whether the closure must be rebuilt before the next query
+     * @return true if edges were removed since the closure was last built
+     */
+    boolean isStale() {
+        return rows != null && stale;
+    }
+
+    /**
+     * Rebuilds the closure if edges were removed since it was last built
+     * Time Complexity: O(1) when fresh, otherwise that of a rebuild
+     */
+    void refresh() {
+        if (isStale()) rebuild();
+    }
+
+    /**
+     * Rebuilds every closure row from the graph
+     * Visits tasks in reverse topological order, so each dependent's row is
+     * final before it is merged into its prerequisites
+     * Time Complexity: O(V + E * V / 64)
+     */
+    private void rebuild() {
+        Graph graph = graph();
+        CsrAdjacency successors = graph.getSuccessors();
+        Arrays.fill(rows, null);
+        for (int pos = graph.vertexCount() - 1; pos >= 0; pos--) {
+            int v = graphManager.vertexAt(pos);
+            for (int h = successors.first(v); h != CsrAdjacency.END; h = successors.next(v, h)) {
+                int w = successors.target(h);
+                rows[v] = include(v, w, rows[w]);
+            }
+        }
+        stale = false;
+    }
+
+    /**
+     * Gets the dependency graph being indexed
+     * @return The graph
+     */
+    private Graph graph() {
+        return graphManager.getDependencyGraph();
+    }
+
+    /**
+     * Grows the per-vertex arrays to cover newly added tasks
+     * Called by GraphManager whenever tasks are added to the graph.
+     * Drops the closure for good once the graph outgrows CLOSURE_LIMIT
+     */
+    void grow() {
+        int vertices = graph().vertexCount();
+        if (vertices <= mark.length) return;
+        int capacity = Math.max(vertices, mark.length * 2);
+        mark = Arrays.copyOf(mark, capacity);
+        work = Arrays.copyOf(work, capacity);
+        if (rows == null) return;
+        if (vertices > CLOSURE_LIMIT) rows = null;
+        else rows = Arrays.copyOf(rows, capacity);
+    }
+
+    /**
+     * Builds the new row of a task that now reaches a target
+     * @param node Vertex ID of the task
+     * @param target Vertex ID the task now reaches
+     * @param reachedByTarget Row of the target, may be null
+     * @return The task's row OR the target's row, plus the target's own bit
+     */
+    private long[] include(int node, int target, long[] reachedByTarget) {
+        long[] row = rows[node];
+        int words = Math.max(target >>> 6, reachedByTarget == null ? 0 : reachedByTarget.length - 1) + 1;
+        if (row == null) row = new long[words];
+        else if (row.length < words) row = Arrays.copyOf(row, words);
+        if (reachedByTarget != null) {
+            for (int i = 0; i < reachedByTarget.length; i++) row[i] |= reachedByTarget[i];
+        }
+        row[target >>> 6] |= 1L << target;
+        return row;
+    }
+
+    /**
+     * Tests a bit of a closure row
+     * @param row Closure row, may be null
+     * @param v Vertex ID
+     * @return true if the row contains the vertex
+     */
+    private static boolean contains(long[] row, int v) {
+        return row != null && (v >>> 6) < row.length && (row[v >>> 6] & (1L << v)) != 0;
+    }
+
+    /**
+     * Searches forward from a task, skipping tasks positioned at or after the target
+     * Such tasks cannot lead to the target, since every edge goes forward in the order.
+     * Uses the calling thread's scratch buffers, so concurrent searches do not interfere.
+     * @param from Vertex ID of the starting task
+     * @param to Vertex ID of the task to reach
+     * @return true if the target was reached
+     */
+    private boolean search(int from, int to) {
+        CsrAdjacency successors = graph().getSuccessors();
+        int limit = graphManager.positionOf(to);
+        GraphManager.Scratch scratch = GraphManager.Scratch.forThread();
+        int stamp = scratch.begin(graph().vertexCount());
+        int[] visited = scratch.visited;
+        int[] stack = scratch.stackVertex;
+        int top = 0;
+        stack[top++] = from;
+        visited[from] = stamp;
+        while (top > 0) {
+            int node = stack[--top];
+            for (int h = successors.first(node); h != CsrAdjacency.END; h = successors.next(node, h)) {
+                int next = successors.target(h);
+                if (next == to) return true;
+                if (graphManager.positionOf(next) < limit && visited[next] != stamp) {
+                    visited[next] = stamp;
+                    stack[top++] = next;
+                }
+            }
+        }
+        return false;
+    }
+}
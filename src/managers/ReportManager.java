@@ -1,8 +1,10 @@
 package managers;
 
+import data_structures.PersistentBTree;
 import tasks.Task;
 import user.User;
 import java.util.*;
+import java.time.YearMonth;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -42,6 +44,24 @@ public class ReportManager {
             report.append("  Priority ").append(entry.getKey())
                   .append(": ").append(entry.getValue()).append(" tasks\n");
         }
+
+        report.append("Tasks by Due Month:\n");
+        for (Map.Entry<YearMonth, Integer> entry : taskManager.getTasksByDueMonth().entrySet()) {
+            report.append("  ").append(entry.getKey())
+                  .append(": ").append(entry.getValue()).append(" tasks\n");
+        }
+        if (taskManager.getUndatedTaskCount() > 0) {
+            report.append("  No due date: ").append(taskManager.getUndatedTaskCount()).append(" tasks\n");
+        }
+
+        // Percentiles come from the order-statistic tree, without walking every task
+        if (taskManager.getDueDatePercentile(50) != null) {
+            report.append("Due Date Percentiles:\n");
+            for (int percentile : new int[] {25, 50, 75, 90}) {
+                report.append("  P").append(percentile).append(": ")
+                      .append(taskManager.getDueDatePercentile(percentile)).append("\n");
+            }
+        }
         
         return report.toString();
     }
@@ -57,8 +77,9 @@ public class ReportManager {
         report.append("=== Task Date Range Report ===\n");
         report.append("Period: ").append(startDate).append(" to ").append(endDate).append("\n\n");
         
-        List<Task> tasksInRange = taskManager.getTasksInDateRange(startDate, endDate);
-        for (Task task : tasksInRange) {
+        // Read from an immutable snapshot so concurrent edits neither block nor tear the report
+        List<PersistentBTree.Entry> tasksInRange = taskManager.getDueDateSnapshot().range(startDate, endDate);
+        for (PersistentBTree.Entry task : tasksInRange) {
             report.append("Task: ").append(task.getName())
                   .append(" (Due: ").append(task.getDueDate()).append(")\n");
         }
@@ -81,6 +102,29 @@ public class ReportManager {
             report.append("Task: ").append(entry.getKey()).append("\n");
             report.append("Dependencies: ").append(entry.getValue()).append("\n\n");
         }
+
+        List<List<String>> cycleGroups = graphManager.findCycleGroups();
+        report.append("Circular Dependency Groups: ").append(cycleGroups.isEmpty() ? "none" : "").append("\n");
+        for (List<String> group : cycleGroups) {
+            report.append("  ").append(group).append("\n");
+        }
+
+        // TaskManager keeps the schedule's due dates current, so the report only reads it
+        CriticalPathAnalyzer schedule = graphManager.getSchedule();
+        report.append("\nSchedule:\n");
+        for (String task : graphManager.getTopologicalOrder()) {
+            Date start = schedule.getEarliestStart(task);
+            Date finish = schedule.getLatestFinish(task);
+            long slack = schedule.getSlack(task);
+            report.append("  ").append(task)
+                  .append(": earliest start ").append(start)
+                  .append(", latest finish ").append(finish == null ? "unbounded" : finish.toString())
+                  .append(", slack ")
+                  .append(slack == CriticalPathAnalyzer.UNBOUNDED ? "unbounded"
+                          : String.format("%.1f days", slack / (double) CriticalPathAnalyzer.DEFAULT_DURATION))
+                  .append("\n");
+        }
+        report.append("Critical Path: ").append(schedule.getCriticalPath()).append("\n");
         
         return report.toString();
     }
@@ -98,7 +142,7 @@ public class ReportManager {
         for (User user : users.values()) {
             report.append("User: ").append(user.getName())
                   .append(" (ID: ").append(user.getId()).append(")\n");
-            report.append("Total Tasks: ").append(user.getTaskList().size()).append("\n\n");
+            report.append("Total Tasks: ").append(taskManager.getTaskCount(user.getId())).append("\n\n");
         }
         
         return report.toString();
@@ -0,0 +1,213 @@
+package managers;
+
+import tasks.Task;
+import data_structures.CsrAdjacency;
+import data_structures.Graph;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Runs tasks in parallel while respecting the dependency graph
+ * Each task is dispatched to a ForkJoinPool as soon as every task it depends
+ * on has finished (its remaining in-degree reaches zero). Tasks are matched
+ * to the graph by name; dependency-graph tasks without a Task object are
+ * treated as instant steps so ordering through them is kept. If a task fails,
+ * every task that depends on it, directly or transitively, is skipped.
+ * Execution follows a snapshot of the dependency graph taken when execute is
+ * called, so dependencies can be edited from other threads in the meantime.
+ */
+public class TaskExecutor {
+    /** Outcome of running one task */
+    public enum Status { COMPLETED, FAILED, SKIPPED }
+
+    /**
+     * Result of one task's execution
+     */
+    public static class Result {
+        private final Task task;
+        private final Status status;
+        private final long durationNanos;
+        private final Throwable error;
+
+        Result(Task task, Status status, long durationNanos, Throwable error) {
+            this.task = task;
+            this.status = status;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        /**
+         * Gets the task that was executed
+         * @return The task
+         */
+        public Task getTask() {
+            return task;
+        }
+
+        /**
+         * Gets the outcome of the task
+         * @return COMPLETED, FAILED, or SKIPPED if a prerequisite did not complete
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * Gets how long Task.process ran
+         * @return Duration in nanoseconds, 0 for skipped tasks
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Gets the exception or error thrown by a failed task
+         * @return The throwable, or null if the task did not fail
+         */
+        public Throwable getError() {
+            return error;
+        }
+    }
+
+    private final GraphManager graphManager;
+    private final int parallelism;
+
+    /**
+     * Creates an executor that uses one worker per available processor
+     * @param graphManager Source of the task dependencies
+     */
+    public TaskExecutor(GraphManager graphManager) {
+        this(graphManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates an executor with a fixed number of workers
+     * @param graphManager Source of the task dependencies
+     * @param parallelism Maximum number of tasks running at the same time
+     */
+    public TaskExecutor(GraphManager graphManager, int parallelism) {
+        this.graphManager = graphManager;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs Task.process for every task, each after all of its prerequisites
+     * Blocks until every task has completed, failed or been skipped
+     * @param tasks Tasks to execute
+     * @param debug Passed to Task.process
+     * @return One result per task, in the order the tasks finished
+     * @throws InterruptedException If the calling thread is interrupted while waiting
+     */
+    public List<Result> execute(Collection<Task> tasks, boolean debug) throws InterruptedException {
+        Graph.Snapshot graph = graphManager.snapshot();
+        int vertices = graph.vertexCount();
+
+        // Jobs 0..vertices-1 are graph tasks; tasks unknown to the graph get their own jobs after them
+        Map<Integer, List<Task>> tasksByJob = new HashMap<>();
+        int jobs = vertices;
+        for (Task task : tasks) {
+            int job = graph.idOf(task.getName());
+            if (job == -1) job = jobs++;
+            tasksByJob.computeIfAbsent(job, k -> new ArrayList<>()).add(task);
+        }
+
+        AtomicIntegerArray remaining = new AtomicIntegerArray(jobs);
+        for (int v = 0; v < vertices; v++) {
+            remaining.set(v, graph.inDegree(v));
+        }
+
+        // Collect the ready set before dispatching, since workers start decrementing right away
+        int[] ready = new int[jobs];
+        int readyCount = 0;
+        for (int job = 0; job < jobs; job++) {
+            if (remaining.get(job) == 0) ready[readyCount++] = job;
+        }
+
+        Run run = new Run(graph.getSuccessors(), vertices, jobs, tasksByJob, remaining, debug);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            run.pool = pool;
+            for (int i = 0; i < readyCount; i++) {
+                run.dispatch(ready[i]);
+            }
+            run.done.await();
+        } finally {
+            pool.shutdown();
+        }
+        return new ArrayList<>(run.results);
+    }
+
+    /**
+     * State of one execute call shared by the worker threads
+     */
+    private static class Run {
+        final CsrAdjacency successors;
+        final int vertices;
+        final Map<Integer, List<Task>> tasksByJob;
+        final AtomicIntegerArray remaining;  // Unfinished prerequisites of each job
+        final boolean[] blocked;  // Set before the decrement that releases a job, read after it
+        final boolean debug;
+        final CountDownLatch done;
+        final Queue<Result> results = new ConcurrentLinkedQueue<>();
+        ForkJoinPool pool;
+
+        Run(CsrAdjacency successors, int vertices, int jobs, Map<Integer, List<Task>> tasksByJob,
+                AtomicIntegerArray remaining, boolean debug) {
+            this.successors = successors;
+            this.vertices = vertices;
+            this.tasksByJob = tasksByJob;
+            this.remaining = remaining;
+            this.blocked = new boolean[jobs];
+            this.debug = debug;
+            this.done = new CountDownLatch(jobs);
+        }
+
+        /**
+         * Submits a job whose prerequisites have all finished
+         * @param job Job index
+         */
+        void dispatch(int job) {
+            pool.execute(() -> runJob(job));
+        }
+
+        /**
+         * Runs (or skips) the tasks of a job, then releases its dependents
+         * @param job Job index
+         */
+        void runJob(int job) {
+            // Stays false unless every task ran, so dependents are skipped if anything escapes
+            boolean succeeded = false;
+            try {
+                boolean ok = !blocked[job];
+                for (Task task : tasksByJob.getOrDefault(job, Collections.emptyList())) {
+                    if (blocked[job]) {
+                        results.add(new Result(task, Status.SKIPPED, 0, null));
+                        continue;
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        task.process(debug);
+                        results.add(new Result(task, Status.COMPLETED, System.nanoTime() - start, null));
+                    } catch (Throwable e) {  // Errors such as AssertionError fail the task too
+                        ok = false;
+                        results.add(new Result(task, Status.FAILED, System.nanoTime() - start, e));
+                    }
+                }
+                succeeded = ok;
+            } finally {
+                // Always release dependents and count the job, or execute would wait forever
+                if (job < vertices) {
+                    for (int h = successors.first(job); h != CsrAdjacency.END; h = successors.next(job, h)) {
+                        int dependent = successors.target(h);
+                        if (!succeeded) blocked[dependent] = true;
+                        if (remaining.decrementAndGet(dependent) == 0) dispatch(dependent);
+                    }
+                }
+                done.countDown();
+            }
+        }
+    }
+}
@@ -4,28 +4,53 @@ import data_structures.*;
 import tasks.*;
 import user.User;
 
-import java.util.PriorityQueue;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.Objects;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.concurrent.locks.Lock;
 
 /**
  * Manages tasks and users in the task management system.
  * Implements various data structures to handle different aspects of task management:
  * - User management (HashSet, HashMap)
+ * - Task and owner lookup by task ID (IntHashMap)
  * - Task categories (DynamicArray)
  * - Task undo/redo functionality (Stack)
  * - Task scheduling (QueueInterface)
- * - Priority-based task management (PriorityQueue)
+ * - Priority-based task management (IndexedHeap, or BucketQueue for the fixed
+ *   priority range), ordered by effective priority
+ *   inherited through task dependencies (PriorityInheritance)
  * - Task history tracking (SinglyLinkedList)
  * - Recurring tasks (CircularLinkedList)
  * - Due date organization (BTree)
+ * - Lock-free due date snapshots for reports (PersistentBTree)
+ * - Optional on-disk due date index that survives restarts (BPlusTree)
+ * - Task counts by priority and due month kept up to date for reports (Histogram)
+ * Methods that change tasks or users take the GraphManager's write lock, and
+ * PriorityInheritance and CriticalPathAnalyzer call back into the task manager
+ * under that same lock whenever a dependency changes, so tasks and dependencies
+ * can be edited from different threads. Methods that only read take the shared
+ * read lock, so reports run concurrently with each other and wait only for edits.
+ * Due date snapshots are read without the lock.
  */
 public class TaskManager {
+    /** Lowest task priority accepted by the bucketed priority queue */
+    public static final int MIN_PRIORITY = 1;
+    /** Highest task priority accepted by the bucketed priority queue */
+    public static final int MAX_PRIORITY = 10;
+
     /** Set of unique user IDs to prevent duplicates */
     private HashSet<Integer> userIds;
     /** Maps user IDs to User objects for quick access */
@@ -39,30 +64,84 @@ public class TaskManager {
 
     /** Queue for scheduling tasks in order */
     private QueueInterface<Integer, String, String> scheduleQueue;
-    /** Priority queue for managing tasks based on priority */
-    private PriorityQueue<Task> priorityQueue;
+    /** Priority queue for managing tasks based on priority, addressable by task ID */
+    private AddressableQueue<Task> priorityQueue;
     /** Linked list to maintain task history */
     private SinglyLinkedList<Integer, String> taskHistory;
     /** Circular linked list for managing recurring tasks */
     private CircularLinkedList<Integer, String> recurringTasks;
     /** Binary tree for organizing tasks by due date */
     private BTree taskTree;
+    /** Immutable due date tree that report threads can read while tasks are edited */
+    private PersistentBTree dueDateVersions;
+    /** On-disk index of task IDs by due date, null unless opened with openDueDateIndex */
+    private BPlusTree diskIndex;
+    /** Task dependencies, used for priority inheritance */
+    private GraphManager graphManager;
+    /** Effective priorities of tasks in the dependency graph */
+    private PriorityInheritance priorities;
+    /** Critical path analysis of the dependency graph, kept in step with task due dates */
+    private CriticalPathAnalyzer schedule;
+    /** Live tasks grouped by name, since the dependency graph refers to tasks by name */
+    private HashMap<String, List<Task>> tasksByName;
+    /** Live tasks by task ID */
+    private IntHashMap<Task> tasksById;
+    /** Owner of every task ID ever added, kept after undo so redo can restore the task */
+    private IntHashMap<User> taskOwners;
+    /** Number of live tasks at each priority */
+    private Histogram priorityCounts;
+    /** Number of live tasks due in each month, keyed by year * 12 + month index */
+    private Histogram dueMonthCounts;
 
     /**
-     * Initializes a new TaskManager with empty data structures
+     * Initializes a new TaskManager with empty data structures and its own dependency graph
      * Sets up all necessary collections for managing tasks and users
      */
     public TaskManager() {
+        this(new GraphManager());
+    }
+
+    /**
+     * Initializes a new TaskManager with empty data structures
+     * Tasks are prioritized by the highest priority of anything that depends on
+     * them in the given dependency graph
+     * @param graphManager Dependency graph shared with the rest of the system
+     */
+    public TaskManager(GraphManager graphManager) {
+        this(graphManager, false);
+    }
+
+    /**
+     * Initializes a new TaskManager with a choice of priority queue
+     * The bucketed queue makes every priority operation O(1), but only accepts
+     * tasks with priorities from MIN_PRIORITY to MAX_PRIORITY
+     * @param graphManager Dependency graph shared with the rest of the system
+     * @param bucketed true to use a BucketQueue, false to use an IndexedHeap
+     */
+    public TaskManager(GraphManager graphManager, boolean bucketed) {
         userIds = new HashSet<>();
         userMap = new HashMap<>();
         categories = new DynamicArray<>(5);
         undoStack = new Stack<Task>();
         redoStack = new Stack<Task>();
         scheduleQueue = new QueueInterface<>();
-        priorityQueue = new PriorityQueue<>(Comparator.comparingInt(Task::getPriority).reversed());
+        priorityQueue = bucketed
+            ? new BucketQueue<>(Task::getId, this::getEffectivePriority, MIN_PRIORITY, MAX_PRIORITY)
+            : new IndexedHeap<>(Task::getId, this::getEffectivePriority);
         taskHistory = new SinglyLinkedList<>();
         recurringTasks = new CircularLinkedList<>();
         taskTree = new BTree();
+        dueDateVersions = new PersistentBTree();
+        tasksByName = new HashMap<>();
+        tasksById = new IntHashMap<>();
+        taskOwners = new IntHashMap<>();
+        priorityCounts = new Histogram();
+        dueMonthCounts = new Histogram();
+        this.graphManager = graphManager;
+        priorities = graphManager.getPriorities();
+        priorities.attach(this::ownPriority, this::reprioritize);
+        schedule = graphManager.getSchedule();
+        schedule.attach(this::earliestDueDate);
     }
 
     /**
@@ -72,63 +151,209 @@ public class TaskManager {
      * @return true if registration successful, false if ID already exists
      */
     public boolean registerUser(int id, String name) {
-        if (userIds.contains(id)) return false;
-        userIds.add(id);
-        userMap.put(id, new User(id, name));
-        return true;
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            if (userIds.contains(id)) return false;
+            userIds.add(id);
+            userMap.put(id, new User(id, name));
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
      * Adds a task to a specific user and updates all relevant data structures
      * @param userId ID of the user to whom the task will be assigned
      * @param task Task object containing task details
-     * @return true if task was successfully added, false if user not found
+     * @return true if task was successfully added, false if user not found, the task ID is in use
+     *         or the priority is out of range for the bucketed priority queue
      */
     public boolean addTaskToUser(int userId, Task task) {
-        User user = userMap.get(userId);
-        if (user == null) return false;
-        user.addTask(task);
-        undoStack.push(task);
-        redoStack = new Stack<Task>(); // Clear redo stack on new action
-        taskHistory.addFirst(new Node<>(task.getId(), task.getName(), null));
-        priorityQueue.add(task);
-        scheduleQueue.enqueue(new QueueNode<>(task.getId(), task.getName(), "Scheduled", null, null));
-        taskTree.insert(task.getName(), task.getDueDate());
-        return true;
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            User user = userMap.get(userId);
+            if (user == null || tasksById.containsKey(task.getId()) || !accepts(task.getPriority())) return false;
+            taskOwners.put(task.getId(), user);
+            restoreTask(task);
+            undoStack.push(task);
+            redoStack = new Stack<Task>(); // Clear redo stack on new action
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
-     * Undoes the last task addition by removing it from the user's task list
-     * Stores the undone task in the redo stack for potential redo operation
+     * Undoes the last task addition or edit
+     * An addition removes the task from its owner; an edit restores the saved details.
+     * Stores what was undone in the redo stack for potential redo operation
+     * Time Complexity: O(1) lookups of the task and its owner by task ID
      */
     public void undoLastTask() {
-        Task last = undoStack.pop();
-        if (last != null) {
-            User user = userMap.get(last.getId());
-            if (user != null) {
-                user.removeTask(last.getId());
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            Task last = undoStack.pop();
+            if (last == null) return;
+            Task live = tasksById.get(last.getId());
+            if (live == last) {
+                removeTask(last);
                 redoStack.push(last); // Save task for potential redo
+            } else if (live != null) {
+                redoStack.push(copyOf(live)); // Save edited details for potential redo
+                applyEdit(live, last.getName(), last.getPriority(), last.getDueDate());
             }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
-     * Redoes the last undone task by adding it back to the user's task list
-     * Moves the task back to the undo stack for potential undo operation
+     * Redoes the last undone task addition or edit
+     * Moves what was redone back to the undo stack for potential undo operation
+     * Time Complexity: O(1) lookups of the task and its owner by task ID
      */
     public void redoLastTask() {
-        Task last = redoStack.pop();
-        if (last != null) {
-            User user = userMap.get(last.getId());
-            if (user != null) {
-                user.addTask(last);
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            Task last = redoStack.pop();
+            if (last == null) return;
+            Task live = tasksById.get(last.getId());
+            if (live == null) {
+                if (taskOwners.get(last.getId()) == null) return;
+                restoreTask(last);
                 undoStack.push(last); // Move task back to undo stack
-                taskHistory.addFirst(new Node<>(last.getId(), last.getName(), null));
-                priorityQueue.add(last);
-                scheduleQueue.enqueue(new QueueNode<>(last.getId(), last.getName(), "Scheduled", null, null));
-                taskTree.insert(last.getName(), last.getDueDate());
+            } else if (live != last) {
+                undoStack.push(copyOf(live)); // Save original details for potential undo
+                applyEdit(live, last.getName(), last.getPriority(), last.getDueDate());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Loads saved tasks for any number of users, e.g. when restoring state at startup
+     * The due date trees are rebuilt once for the whole batch with linear-time
+     * bulk loading instead of one insert per task, so restoring everything in one
+     * call is O(total tasks). Loaded tasks are not added to the undo stack.
+     * @param tasksByUser Tasks to load, keyed by the ID of the user they belong to
+     * @return true if every task was loaded, false (loading none) if a user is
+     *         not found, a task ID is in use or repeated, or a priority is out of range
+     */
+    public boolean loadTasks(Map<Integer, ? extends Collection<Task>> tasksByUser) {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            IntHashMap<Task> batch = new IntHashMap<>();
+            for (Map.Entry<Integer, ? extends Collection<Task>> entry : tasksByUser.entrySet()) {
+                if (!userMap.containsKey(entry.getKey())) return false;
+                for (Task task : entry.getValue()) {
+                    if (tasksById.containsKey(task.getId()) || batch.put(task.getId(), task) != null
+                            || !accepts(task.getPriority())) {
+                        return false;
+                    }
+                }
             }
+            for (Map.Entry<Integer, ? extends Collection<Task>> entry : tasksByUser.entrySet()) {
+                User user = userMap.get(entry.getKey());
+                for (Task task : entry.getValue()) {
+                    taskOwners.put(task.getId(), user);
+                    restoreTask(task, false);
+                }
+            }
+            rebuildDueDateIndex();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Makes a task live: adds it to its owner and every task structure
+     * @param task The task, whose owner is already recorded
+     */
+    private void restoreTask(Task task) {
+        restoreTask(task, true);
+    }
+
+    /**
+     * Makes a task live: adds it to its owner and every task structure
+     * @param task The task, whose owner is already recorded
+     * @param indexDueDate false to leave the in-memory due date trees to a later rebuild
+     */
+    private void restoreTask(Task task, boolean indexDueDate) {
+        count(task, 1);
+        taskOwners.get(task.getId()).addTask(task);
+        tasksById.put(task.getId(), task);
+        taskHistory.addFirst(new Node<>(task.getId(), task.getName(), null));
+        indexName(task);
+        priorityQueue.add(task);
+        scheduleQueue.enqueue(new QueueNode<>(task.getId(), task.getName(), "Scheduled", null, null));
+        if (indexDueDate) {
+            taskTree.insert(task);
+            dueDateVersions.insert(task);
         }
+        updateDiskIndex(task, true);
+    }
+
+    /**
+     * Takes a live task out of its owner and every task structure except the schedule and history
+     * @param task The task
+     */
+    private void removeTask(Task task) {
+        count(task, -1);
+        taskOwners.get(task.getId()).removeTask(task.getId());
+        tasksById.remove(task.getId());
+        priorityQueue.remove(task.getId());
+        unindexName(task);
+        taskTree.remove(task);
+        dueDateVersions.remove(task);
+        updateDiskIndex(task, false);
+    }
+
+    /**
+     * Checks whether the priority queue can hold a task priority
+     * @param priority The priority
+     * @return true unless the queue is bucketed and the priority is out of its range
+     */
+    private boolean accepts(int priority) {
+        return !(priorityQueue instanceof BucketQueue) || (priority >= MIN_PRIORITY && priority <= MAX_PRIORITY);
+    }
+
+    /**
+     * Adds a task to the priority and due month counts, or takes it out
+     * @param task The task
+     * @param delta 1 to add the task, -1 to remove it
+     */
+    private void count(Task task, int delta) {
+        priorityCounts.add(task.getPriority(), delta);
+        if (task.getDueDate() != null) dueMonthCounts.add(monthOf(task.getDueDate()), delta);
+    }
+
+    /**
+     * Gets the due month key of a date
+     * @param date The date
+     * @return year * 12 + month index (0 for January), in the local time zone
+     */
+    private static long monthOf(Date date) {
+        YearMonth month = YearMonth.from(date.toInstant().atZone(ZoneId.systemDefault()));
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+
+    /**
+     * Copies a task's editable details, for the undo and redo stacks
+     * @param task The task
+     * @return A detached task with the same ID, name, priority and due date
+     */
+    private static Task copyOf(Task task) {
+        Task copy = new Task(task.getId(), task.getName(), task.getPriority());
+        copy.setDueDate(task.getDueDate());
+        return copy;
     }
 
     /**
@@ -136,10 +361,16 @@ public class TaskManager {
      * @param userId ID of the user whose tasks should be displayed
      */
     public void displayUserTasks(int userId) {
-        User user = userMap.get(userId);
-        if (user != null) {
-            System.out.println("Tasks for user: " + user.getName());
-            user.printTasks();
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            User user = userMap.get(userId);
+            if (user != null) {
+                System.out.println("Tasks for user: " + user.getName());
+                user.printTasks();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -148,21 +379,65 @@ public class TaskManager {
      * Tasks are displayed in the order they were scheduled
      */
     public void printScheduledTasks() {
-        QueueNode<Integer, String, String> current = scheduleQueue.getFront();
-        while (current != null) {
-            System.out.println("Scheduled: " + current.getName());
-            current = current.getNext();
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            QueueNode<Integer, String, String> current = scheduleQueue.getFront();
+            while (current != null) {
+                System.out.println("Scheduled: " + current.getName());
+                current = current.getNext();
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
     /**
      * Prints tasks in order of priority
-     * Creates a temporary queue to preserve the original priority queue
+     * Walks the priority queue in poll order without changing or copying it
      */
     public void printPriorityTasks() {
-        PriorityQueue<Task> temp = new PriorityQueue<>(priorityQueue);
-        while (!temp.isEmpty()) {
-            System.out.println(temp.poll().getDetails());
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            for (Task task : priorityQueue) {
+                System.out.println(task.getDetails());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Prints the most urgent tasks in order of priority
+     * Time Complexity: O(k log k), independent of the number of queued tasks
+     * @param k Maximum number of tasks to print
+     */
+    public void printPriorityTasks(int k) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            for (Task task : getTopPriorityTasks(k)) {
+                System.out.println(task.getDetails());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the tasks that would be scheduled next, without removing them
+     * Time Complexity: O(k log k), independent of the number of queued tasks
+     * @param k Maximum number of tasks
+     * @return At most k tasks, highest effective priority first
+     */
+    public List<Task> getTopPriorityTasks(int k) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return priorityQueue.topK(k);
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -171,7 +446,13 @@ public class TaskManager {
      * Shows tasks in the order they were added to the system
      */
     public void printTaskHistory() {
-        taskHistory.printList();
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            taskHistory.printList();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -179,7 +460,13 @@ public class TaskManager {
      * Uses in-order traversal of the binary tree
      */
     public void printDueDateTree() {
-        taskTree.inOrderTraversal();
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            taskTree.inOrderTraversal();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -190,89 +477,399 @@ public class TaskManager {
      * @param newPriority New priority for the task (-1 to keep existing priority)
      * @param newDueDate New due date for the task (if null, keeps existing date)
      * @return true if task was successfully edited, false if task or user not found
+     *         or the priority is out of range for the bucketed priority queue
      */
     public boolean editTask(int userId, int taskId, String newName, int newPriority, Date newDueDate) {
-        User user = userMap.get(userId);
-        if (user == null) return false;
-        
-        Task task = user.getTaskById(taskId);
-        if (task == null) return false;
-
-        // Store original task in undo stack before modifications
-        Task originalTask = new Task(task.getId(), task.getName(), task.getPriority());
-        originalTask.setDueDate(task.getDueDate());
-        undoStack.push(originalTask);
-        redoStack = new Stack<Task>(); // Clear redo stack on new action
-
-        // Update task details
-        if (newName != null) {
-            taskTree.remove(task.getName()); // Remove from tree with old name
-            task.setName(newName);
-            taskTree.insert(task.getName(), task.getDueDate()); // Add back with new name
-        }
-        
-        if (newPriority != -1) {
-            priorityQueue.remove(task);
-            task.setPriority(newPriority);
-            priorityQueue.add(task);
-        }
-        
-        if (newDueDate != null) {
-            taskTree.remove(task.getName());
-            task.setDueDate(newDueDate);
-            taskTree.insert(task.getName(), task.getDueDate());
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            Task task = tasksById.get(taskId);
+            if (task == null || taskOwners.get(taskId) != userMap.get(userId)) return false;
+            if (newPriority != -1 && !accepts(newPriority)) return false;
+
+            // Store original task in undo stack before modifications
+            undoStack.push(copyOf(task));
+            redoStack = new Stack<Task>(); // Clear redo stack on new action
+
+            applyEdit(task,
+                newName != null ? newName : task.getName(),
+                newPriority != -1 ? newPriority : task.getPriority(),
+                newDueDate != null ? newDueDate : task.getDueDate());
+            return true;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    /**
+     * Changes a live task's details and updates every structure keyed by them
+     * @param task The task
+     * @param name New name
+     * @param priority New priority
+     * @param dueDate New due date
+     */
+    private void applyEdit(Task task, String name, int priority, Date dueDate) {
+        count(task, -1);
+        // Update task details, re-keying the due date tree at most once
+        boolean renamed = !name.equals(task.getName());
+        boolean rekey = renamed || !Objects.equals(dueDate, task.getDueDate());
+        if (rekey) {
+            taskTree.remove(task); // Remove from trees with old key
+            dueDateVersions.remove(task);
+            updateDiskIndex(task, false);
+        }
+        if (renamed) {
+            unindexName(task);
+            task.setName(name);
+            indexName(task);
+        }
+        task.setDueDate(dueDate);
+        if (rekey) {
+            taskTree.insert(task); // Add back with new name and/or date
+            dueDateVersions.insert(task);
+            updateDiskIndex(task, true);
+            schedule.dueDateChanged(task.getName());
+        }
+        if (priority != task.getPriority()) {
+            task.setPriority(priority);
+            priorities.priorityChanged(task.getName());
+        }
+        priorityQueue.update(task.getId()); // Re-order by the new effective priority
+        count(task, 1);
 
         // Update task history
         taskHistory.addFirst(new Node<>(task.getId(), task.getName(), null));
-        
-        return true;
+    }
+
+    /**
+     * Gets the priority a task is scheduled with
+     * Time Complexity: O(1)
+     * @param task The task
+     * @return Highest priority among the task and every task that depends on it
+     */
+    public int getEffectivePriority(Task task) {
+        return priorities.getEffectivePriority(task.getName(), task.getPriority());
+    }
+
+    /**
+     * Gets the highest own priority among live tasks with a name
+     * @param name Task name
+     * @return Highest priority, or 0 if no live task has the name
+     */
+    private int ownPriority(String name) {
+        int highest = 0;
+        for (Task task : tasksByName.getOrDefault(name, Collections.emptyList())) {
+            highest = Math.max(highest, task.getPriority());
+        }
+        return highest;
+    }
+
+    /**
+     * Gets the earliest due date among live tasks with a name
+     * @param name Task name
+     * @return Earliest due date, or null if no live task with the name has one
+     */
+    private Date earliestDueDate(String name) {
+        Date earliest = null;
+        for (Task task : tasksByName.getOrDefault(name, Collections.emptyList())) {
+            Date due = task.getDueDate();
+            if (due != null && (earliest == null || due.before(earliest))) earliest = due;
+        }
+        return earliest;
+    }
+
+    /**
+     * Records a live task under its name and updates the priorities and schedule that depend on it
+     * @param task The task
+     */
+    private void indexName(Task task) {
+        tasksByName.computeIfAbsent(task.getName(), k -> new ArrayList<>()).add(task);
+        priorities.priorityChanged(task.getName());
+        schedule.dueDateChanged(task.getName());
+    }
+
+    /**
+     * Forgets a task that is no longer live and updates the priorities and schedule that depend on it
+     * When no live task has the name any more (the task was undone or renamed),
+     * the name and its dependencies are removed from the dependency graph
+     * @param task The task
+     */
+    private void unindexName(Task task) {
+        List<Task> named = tasksByName.get(task.getName());
+        if (named == null) return;
+        named.remove(task);
+        if (named.isEmpty()) {
+            tasksByName.remove(task.getName());
+            graphManager.removeTask(task.getName());
+        }
+        priorities.priorityChanged(task.getName());
+        schedule.dueDateChanged(task.getName());
+    }
+
+    /**
+     * Re-orders queued tasks after the priority they inherit changed
+     * The queue caches each task's priority, so the tasks can be moved one at a time
+     * Time Complexity: O(k log n) for k tasks with the name
+     * @param name Task name
+     * @param inheritedPriority New priority inherited from the task's dependents
+     */
+    private void reprioritize(String name, int inheritedPriority) {
+        for (Task task : tasksByName.getOrDefault(name, Collections.emptyList())) {
+            priorityQueue.update(task.getId());
+        }
     }
 
     /**
      * Gets the total number of tasks in the system
+     * Time Complexity: O(1), the count is kept up to date as tasks change
      * @return Total number of tasks
      */
     public int getTotalTasks() {
-        int total = 0;
-        for (User user : userMap.values()) {
-            total += user.getTaskList().size();
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return priorityCounts.total();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tasks assigned to a user
+     * Time Complexity: O(1)
+     * @param userId ID of the user
+     * @return Number of the user's tasks, 0 if the user is not found
+     */
+    public int getTaskCount(int userId) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            User user = userMap.get(userId);
+            return user == null ? 0 : user.getTaskList().size();
+        } finally {
+            lock.unlock();
         }
-        return total;
     }
 
     /**
      * Gets the distribution of tasks by priority
-     * @return Map of priority levels to number of tasks
+     * Time Complexity: O(priorities in use), read from counts kept up to date as tasks change
+     * @return Map of priority levels to number of tasks, in ascending order of priority
      */
     public Map<Integer, Integer> getTasksByPriority() {
-        Map<Integer, Integer> distribution = new HashMap<>();
-        for (User user : userMap.values()) {
-            for (Task task : user.getTaskList()) {
-                int priority = task.getPriority();
-                distribution.put(priority, distribution.getOrDefault(priority, 0) + 1);
-            }
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            Map<Integer, Integer> distribution = new LinkedHashMap<>();
+            priorityCounts.forEach((priority, count) -> distribution.put((int) priority, count));
+            return distribution;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the distribution of tasks by the month they are due
+     * Time Complexity: O(months spanned), read from counts kept up to date as tasks change
+     * @return Map of months to number of tasks due in them, in ascending order of month
+     */
+    public Map<YearMonth, Integer> getTasksByDueMonth() {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            Map<YearMonth, Integer> distribution = new LinkedHashMap<>();
+            dueMonthCounts.forEach((month, count) -> distribution.put(
+                YearMonth.of((int) Math.floorDiv(month, 12), Math.floorMod(month, 12) + 1), count));
+            return distribution;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of tasks without a due date
+     * Time Complexity: O(1)
+     * @return Number of undated tasks
+     */
+    public int getUndatedTaskCount() {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return priorityCounts.total() - dueMonthCounts.total();
+        } finally {
+            lock.unlock();
         }
-        return distribution;
     }
 
     /**
      * Gets all tasks due within a specified date range
+     * Uses a pruned range scan of the due date tree, O(log n + k)
      * @param startDate Start of the date range
      * @param endDate End of the date range
-     * @return List of tasks within the date range
+     * @return List of tasks within the date range, ordered by due date
      */
     public List<Task> getTasksInDateRange(Date startDate, Date endDate) {
-        List<Task> tasksInRange = new ArrayList<>();
-        for (User user : userMap.values()) {
-            for (Task task : user.getTaskList()) {
-                Date dueDate = task.getDueDate();
-                if (dueDate != null && !dueDate.before(startDate) && !dueDate.after(endDate)) {
-                    tasksInRange.add(task);
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return taskTree.range(startDate, endDate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the due date trees from every user's task list
+     * Uses linear-time bulk loading instead of one insert per task,
+     * so restoring state at startup (loadTasks) stays fast for large task sets
+     */
+    public void rebuildDueDateIndex() {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            List<Task> allTasks = new ArrayList<>();
+            for (User user : userMap.values()) {
+                allTasks.addAll(user.getTaskList());
+            }
+            taskTree.bulkLoad(allTasks);
+            dueDateVersions.bulkLoad(allTasks);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens an on-disk due date index and keeps it up to date from now on
+     * The index is not limited by the heap. The file is first reconciled with
+     * the live tasks: entries left from earlier runs, or written before tasks
+     * were edited or undone while the index was closed, are removed, and every
+     * live task is added if it is missing. Closes any index opened before.
+     * Time Complexity: O(entries + tasks) page operations
+     * @param file Index file, created if it does not exist
+     * @throws IOException If the file cannot be opened or written
+     */
+    public void openDueDateIndex(File file) throws IOException {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            closeDueDateIndex();
+            diskIndex = new BPlusTree(file);
+            List<long[]> stale = new ArrayList<>();
+            diskIndex.forEach((key, id) -> {
+                Task live = tasksById.get(id);
+                if (live == null || BPlusTree.toKey(live.getDueDate()) != key) stale.add(new long[] {key, id});
+            });
+            for (long[] entry : stale) {
+                diskIndex.remove(entry[0], (int) entry[1]);
+            }
+            for (User user : userMap.values()) {
+                for (Task task : user.getTaskList()) {
+                    diskIndex.insert(task);
                 }
             }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Flushes and closes the on-disk due date index, if one is open
+     * @throws IOException If the file cannot be flushed or closed
+     */
+    public void closeDueDateIndex() throws IOException {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            if (diskIndex == null) return;
+            diskIndex.close();
+            diskIndex = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the IDs of tasks due within a date range, inclusive on both ends
+     * Reads the on-disk index when one is open, otherwise the in-memory due date tree.
+     * Takes the write lock, since the index file is read through a shared page buffer.
+     * Time Complexity: O(log n + k)
+     * @param startDate Start of the date range
+     * @param endDate End of the date range
+     * @return Task IDs ordered by due date
+     * @throws IOException If the index file cannot be read
+     */
+    public List<Integer> getTaskIdsInDateRange(Date startDate, Date endDate) throws IOException {
+        Lock lock = graphManager.writeLock();
+        lock.lock();
+        try {
+            if (diskIndex != null) return diskIndex.range(startDate, endDate);
+            List<Integer> ids = new ArrayList<>();
+            for (Task task : taskTree.range(startDate, endDate)) {
+                ids.add(task.getId());
+            }
+            return ids;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Adds a task to the on-disk due date index or removes it, if an index is open
+     * @param task The task, with the due date it is indexed under
+     * @param add true to add the task, false to remove it
+     */
+    private void updateDiskIndex(Task task, boolean add) {
+        if (diskIndex == null) return;
+        try {
+            if (add) diskIndex.insert(task);
+            else diskIndex.remove(task);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Due date index could not be updated", e);
+        }
+    }
+
+    /**
+     * Gets a consistent read-only view of all tasks ordered by due date
+     * Taking the snapshot is O(1); later edits never show up in it
+     * @return Snapshot of the due date tree
+     */
+    public PersistentBTree.Snapshot getDueDateSnapshot() {
+        return dueDateVersions.snapshot();
+    }
+
+    /**
+     * Counts the tasks due strictly before a date
+     * Time Complexity: O(log n)
+     * @param date The cutoff date
+     * @return Number of tasks due before the date
+     */
+    public int countTasksDueBefore(Date date) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return taskTree.countBefore(date);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the due date at a percentile of all dated tasks (nearest rank)
+     * Time Complexity: O(log n)
+     * @param percentile Percentile between 0 and 100
+     * @return The due date at that percentile, or null if no task has a due date
+     */
+    public Date getDueDatePercentile(double percentile) {
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            int dated = taskTree.countBefore(null);
+            if (dated == 0) return null;
+            int k = (int) Math.ceil(percentile / 100.0 * dated) - 1;
+            return taskTree.selectDueDate(Math.max(0, Math.min(dated - 1, k)));
+        } finally {
+            lock.unlock();
         }
-        return tasksInRange;
     }
 
     /**
@@ -280,6 +877,12 @@ public class TaskManager {
      * @return Map of user IDs to User objects
      */
     public Map<Integer, User> getAllUsers() {
-        return new HashMap<>(userMap);
+        Lock lock = graphManager.readLock();
+        lock.lock();
+        try {
+            return new HashMap<>(userMap);
+        } finally {
+            lock.unlock();
+        }
     }
 }
@@ -0,0 +1,90 @@
+package managers;
+
+import java.util.Arrays;
+
+/**
+ * Work list of tasks ordered by their position in the topological order
+ * Incremental analyses queue the tasks whose value may have changed and
+ * drain them in order (or in reverse order), so every task is recomputed
+ * after all of its prerequisites (or dependents) and at most once per drain.
+ * Backed by a binary heap of vertex IDs with a queued flag per vertex.
+ */
+class TopologicalQueue {
+    private final GraphManager graphManager;  // Source of topological positions
+    private final boolean reverse;  // true to drain the latest position first
+    private int[] heap = new int[16];
+    private int size;
+    private boolean[] queued = new boolean[16];
+
+    /**
+     * Creates an empty queue
+     * @param graphManager Source of the topological order
+     * @param reverse false to drain in topological order, true to drain in reverse
+     */
+    TopologicalQueue(GraphManager graphManager, boolean reverse) {
+        this.graphManager = graphManager;
+        this.reverse = reverse;
+    }
+
+    /**
+     * Adds a vertex unless it is already queued
+     * Time Complexity: O(log k) for k queued vertices
+     * @param v Vertex ID
+     */
+    void add(int v) {
+        if (v >= queued.length) {
+            int capacity = Math.max(v + 1, queued.length * 2);
+            queued = Arrays.copyOf(queued, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        if (queued[v]) return;
+        queued[v] = true;
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!before(v, heap[parent])) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = v;
+    }
+
+    /**
+     * Checks whether any vertex is waiting
+     * @return true if the queue is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes the queued vertex that comes first in the drain direction
+     * Time Complexity: O(log k) for k queued vertices
+     * @return Vertex ID
+     */
+    int poll() {
+        int top = heap[0];
+        int v = heap[--size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) child++;
+            if (!before(heap[child], v)) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = v;
+        queued[top] = false;
+        return top;
+    }
+
+    /**
+     * Compares two vertices by topological position
+     * @return true if a should be drained before b
+     */
+    private boolean before(int a, int b) {
+        int pa = graphManager.positionOf(a), pb = graphManager.positionOf(b);
+        return reverse ? pa > pb : pa < pb;
+    }
+}
@@ -76,11 +76,18 @@ public class User {
 
     /**
      * Removes a task from the user's task list by its ID.
+     * Searches from the most recently added task, so undoing an addition is O(1).
      * @param taskId The ID of the task to remove
      * @return true if the task was found and removed, false otherwise
      */
     public boolean removeTask(int taskId) {
-        return taskList.removeIf(task -> task.getId() == taskId);
+        for (int i = taskList.size() - 1; i >= 0; i--) {
+            if (taskList.get(i).getId() == taskId) {
+                taskList.remove(i);
+                return true;
+            }
+        }
+        return false;
     }
 
     /**